@@ -0,0 +1,63 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares selling a register basket one line at a time (findProduct and sell per line, one event each)
+// with Inventory.sellBasket (nothing is sold unless every line has the units, checked before any are taken).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BasketBenchmark {
+    private static final int CATALOG_SIZE = 10000;
+
+    @Param({"1", "10", "50"})
+    private int basketLines;
+
+    private Inventory inventory;
+    private Map<String, Integer> basket;
+
+    @Setup
+    public void setUp() {
+        inventory = new Inventory();
+        for (int p = 0; p < CATALOG_SIZE; p++) {
+            inventory.addProduct(new Product("Product " + p, Integer.MAX_VALUE, 1.25));
+        }
+        basket = new LinkedHashMap<>();
+        for (int line = 0; line < basketLines; line++) {
+            basket.put("Product " + (line * 197 % CATALOG_SIZE), 1);
+        }
+    }
+
+    @Benchmark
+    public boolean perLine() {
+        boolean allSold = true;
+        for (Map.Entry<String, Integer> line : basket.entrySet()) {
+            allSold &= inventory.findProduct(line.getKey()).sell(line.getValue());
+        }
+        return allSold;
+    }
+
+    @Benchmark
+    public boolean wholeBasket() {
+        return inventory.sellBasket(basket);
+    }
+}
@@ -0,0 +1,29 @@
+package benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the benchmarks of the model and persistence hot paths (InventoryBenchmark and PersistenceBenchmark) and
+// writes their results as JSON, so results from different releases can be compared.
+// Usage: BenchmarkSuite [JMH options], e.g. "-p products=10,1000" to only run the smaller catalogs.
+// Results go to bench-results.json unless another file is given with -rff.
+public final class BenchmarkSuite {
+    public static final String RESULT_FILE = "bench-results.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .include(InventoryBenchmark.class.getSimpleName())
+                .include(PersistenceBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLine.getResult().orElse(RESULT_FILE))
+                .build();
+        new Runner(options).run();
+    }
+}
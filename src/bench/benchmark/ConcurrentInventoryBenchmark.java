@@ -0,0 +1,78 @@
+package benchmark;
+
+import model.ConcurrentInventory;
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sell throughput when every register thread sells its own product, through Inventory (one lock for every sale)
+// and through ConcurrentInventory (one lock per stripe of products). Change the thread count with "-t", e.g.
+// "-t 1", "-t 4" and "-t max", to see how each scales with cores.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentInventoryBenchmark {
+    private static final int REGISTERS = 1024; // more than any thread count, so every thread has its own product
+
+    @State(Scope.Benchmark)
+    public static class Inventories {
+        Inventory inventory;
+        ConcurrentInventory concurrentInventory;
+        final AtomicInteger nextRegister = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            inventory = new Inventory();
+            concurrentInventory = new ConcurrentInventory();
+            for (int r = 0; r < REGISTERS; r++) {
+                inventory.addProduct(new Product(SaveGenerator.nameOf(r), Integer.MAX_VALUE, 1.25));
+                concurrentInventory.addProduct(new Product(SaveGenerator.nameOf(r), Integer.MAX_VALUE, 1.25));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Register {
+        String productName;
+
+        @Setup
+        public void setUp(Inventories inventories) {
+            productName = SaveGenerator.nameOf(inventories.nextRegister.getAndIncrement());
+        }
+    }
+
+    @Benchmark
+    public boolean inventory(Inventories inventories, Register register) {
+        Product product = inventories.inventory.findProduct(register.productName);
+        if (!product.sell(1)) {
+            product.restock(true);
+            return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean concurrentInventory(Inventories inventories, Register register) {
+        if (!inventories.concurrentInventory.sell(register.productName, 1)) {
+            inventories.concurrentInventory.restock(register.productName);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sell throughput when every register thread sells the same product (all threads compete for one
+// compare-and-set and one product lock) versus when each thread sells its own product of the same inventory
+// (the inventory's lock is only taken when a product crosses the low-stock threshold, about twice every
+// MAXIMUM sales). Change the thread count with "-t", e.g. "-t 1", "-t 4" and "-t max", to see how each case
+// scales with cores.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentSellBenchmark {
+
+    private static final int MAXIMUM = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Store {
+        Inventory inventory;
+        Product shared;
+        AtomicInteger nextProduct;
+
+        @Setup
+        public void setUp() {
+            inventory = new Inventory();
+            shared = new Product("Shared", MAXIMUM, 1.25);
+            inventory.addProduct(shared);
+            nextProduct = new AtomicInteger();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnProduct {
+        Product product;
+
+        @Setup
+        public void setUp(Store store) {
+            product = new Product("Own " + store.nextProduct.getAndIncrement(), MAXIMUM, 1.25);
+            store.inventory.addProduct(product);
+        }
+    }
+
+    @Benchmark
+    public boolean sameProduct(Store store) {
+        return sellOrRestock(store.shared);
+    }
+
+    @Benchmark
+    public boolean differentProducts(OwnProduct own) {
+        return sellOrRestock(own.product);
+    }
+
+    // sells one unit, restocking first if the product ran out
+    private static boolean sellOrRestock(Product product) {
+        if (!product.sell(1)) {
+            product.restock(true);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import model.Event;
+import model.EventLog;
+import model.EventType;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Measures the cost of logging the event for one sale. Run with "-prof gc" and compare gc.alloc.rate.norm:
+// eventObject is how Product.sell used to log (a new Event with a Calendar date for every sale),
+// recordedEvent is how it logs now, and sell is the whole Product.sell call.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventRecordingBenchmark {
+    private Product product;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        product = new Product("Apples", Integer.MAX_VALUE, 1.25);
+    }
+
+    @Benchmark
+    public void eventObject() {
+        EventLog.getInstance().logEvent(new Event("Product sold"));
+    }
+
+    @Benchmark
+    public void recordedEvent() {
+        EventLog.getInstance().record(EventType.PRODUCT_SOLD, product.getId());
+    }
+
+    @Benchmark
+    public void sell() {
+        product.sell(1);
+    }
+}
@@ -0,0 +1,93 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The model's hot paths (finding, selling and restocking a product, adding and removing one, listing low-stock
+// products, and turning the inventory into JSON) on generated catalogs from 10 to 10 million products. Part of
+// BenchmarkSuite. Adding and removing a product should cost the same whatever the catalog size.
+// Each call picks the next product in a fixed pseudo-random order, so lookups are spread over the whole catalog.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx12g")
+public class InventoryBenchmark {
+    private static final int LOOKUPS = 1 << 12; // number of different names looked up, a power of two
+
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    private int products;
+
+    private Inventory inventory;
+    private String[] names; // names to look up, in the order they are looked up
+    private Product[] picked; // the products with those names
+    private Product extra; // product that is added and removed again, which is not in the generated catalog
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inventory = new SaveGenerator(SaveGenerator.DEFAULT_SEED).inventory(products);
+        names = new String[LOOKUPS];
+        picked = new Product[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            names[i] = SaveGenerator.nameOf((int) ((i * 0x9E3779B97F4A7C15L >>> 33) % products));
+            picked[i] = inventory.findProduct(names[i]);
+        }
+        extra = new Product("Extra product", 100, 1.0);
+    }
+
+    @Benchmark
+    public Product findProduct() {
+        return inventory.findProduct(names[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Product> viewLowStockProducts() {
+        return inventory.viewLowStockProducts();
+    }
+
+    @Benchmark
+    public boolean sell() {
+        Product p = picked[next++ & (LOOKUPS - 1)];
+        if (!p.sell(1)) {
+            p.restock(true);
+        }
+        return true;
+    }
+
+    @Benchmark
+    public double restock() {
+        return picked[next++ & (LOOKUPS - 1)].restock(true);
+    }
+
+    @Benchmark
+    public Inventory addAndRemoveProduct() {
+        inventory.addProduct(extra);
+        inventory.removeProduct(extra);
+        return inventory;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public JSONObject toJson() {
+        return inventory.toJson();
+    }
+}
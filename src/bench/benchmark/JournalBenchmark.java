@@ -0,0 +1,81 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.Journal;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Compares the cost of making one sale durable with the journal (one appended record, fsynced in a batch)
+// with saving the whole inventory after the sale
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalBenchmark {
+    @Param({"1000", "100000"})
+    private int products;
+
+    private Inventory inventory;
+    private Product product;
+    private Path journalFile;
+    private Path saveFile;
+    private Journal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            inventory.addProduct(new Product("Product " + p, Integer.MAX_VALUE, 1.25));
+        }
+        product = inventory.findProduct("Product 0");
+        journalFile = Files.createTempFile("journal", ".bin");
+        Files.delete(journalFile);
+        saveFile = Files.createTempFile("save", ".json");
+        journal = new Journal(journalFile.toString(), 0);
+        inventory.addObserver(journal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(saveFile);
+    }
+
+    @Benchmark
+    public void sellJournalled() {
+        product.sell(1);
+    }
+
+    @Benchmark
+    public void sellJournalledAndSync() throws IOException {
+        product.sell(1);
+        journal.sync();
+    }
+
+    @Benchmark
+    public void sellAndFullSave() throws IOException {
+        product.sell(1);
+        new JsonWriter(saveFile.toString()).fullSave(inventory);
+    }
+}
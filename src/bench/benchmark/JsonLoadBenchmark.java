@@ -0,0 +1,95 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.JsonReader;
+import persistence.JsonStreamReader;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Measures loading a JSON save, and how much of it is spent recreating products once the file is parsed:
+// restoring their saved quantities in one bulk add, against adding them one by one and replaying their sales
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonLoadBenchmark {
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private Path jsonFile;
+    private List<Product> saved; // stands in for the parsed products
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Inventory inventory = new Inventory();
+        saved = new ArrayList<>(products);
+        for (int p = 0; p < products; p++) {
+            Product product = new Product("Product " + p, 100, 1.25 + p % 10);
+            inventory.addProduct(product);
+            product.sell(p % 100);
+            saved.add(product);
+        }
+        jsonFile = Files.createTempFile("save", ".json");
+        new JsonWriter(jsonFile.toString()).fullSave(inventory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Benchmark
+    public Inventory readJsonReader() throws IOException {
+        return new JsonReader(jsonFile.toString()).read();
+    }
+
+    @Benchmark
+    public Inventory readJsonStreamReader() throws IOException {
+        return new JsonStreamReader(jsonFile.toString()).read();
+    }
+
+    @Benchmark
+    public Inventory recreateRestoring() {
+        List<Product> recreated = new ArrayList<>(saved.size());
+        for (Product p : saved) {
+            recreated.add(new Product(p.getName(), p.getQuantityMaximum(), p.getQuantityAvailable(),
+                    p.getQuantitySold(), p.getCost()));
+        }
+        Inventory i = new Inventory();
+        i.addSavedProducts(recreated);
+        return i;
+    }
+
+    @Benchmark
+    public Inventory recreateReplayingSales() {
+        Inventory i = new Inventory();
+        for (Product p : saved) {
+            Product recreated = new Product(p.getName(), p.getQuantityMaximum(), p.getCost());
+            i.addProduct(recreated);
+            recreated.sell(p.getQuantitySold());
+        }
+        return i;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+// Compares saving through a whole JSONObject tree (how JsonWriter used to save) with the streaming JsonWriter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonWriterBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int numProducts;
+
+    private Inventory inventory;
+    private File saveFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inventory = new Inventory();
+        for (int p = 0; p < numProducts; p++) {
+            Product product = new Product("Product " + p, 100, 1.25);
+            product.sell(p % 100);
+            inventory.addProduct(product);
+        }
+        saveFile = File.createTempFile("inventory", ".json");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public void jsonObjectTree() throws IOException {
+        try (PrintWriter writer = new PrintWriter(saveFile)) {
+            writer.print(inventory.toJson().toString(4));
+        }
+    }
+
+    @Benchmark
+    public void streamingIndented() throws IOException {
+        new JsonWriter(saveFile.getPath(), JsonWriter.Format.INDENTED).fullSave(inventory);
+    }
+
+    @Benchmark
+    public void streamingCompact() throws IOException {
+        new JsonWriter(saveFile.getPath(), JsonWriter.Format.COMPACT).fullSave(inventory);
+    }
+}
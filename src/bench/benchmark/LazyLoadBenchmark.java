@@ -0,0 +1,66 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Measures the time from opening a binary save to the first sale, loading every product up front against
+// loading products only when they are first looked up
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LazyLoadBenchmark {
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Inventory inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            inventory.addProduct(new Product("Product " + p, 100, 1.25 + p % 10));
+        }
+        binaryFile = Files.createTempFile("save", ".bin");
+        new BinaryWriter(binaryFile.toString()).fullSave(inventory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public boolean firstSaleEager() throws IOException {
+        Inventory inventory = new BinaryReader(binaryFile.toString()).read();
+        return inventory.findProduct("Product " + (products / 2)).sell(1);
+    }
+
+    @Benchmark
+    public boolean firstSaleLazy() throws IOException {
+        Inventory inventory = new BinaryReader(binaryFile.toString()).readLazily();
+        return inventory.findProduct("Product " + (products / 2)).sell(1);
+    }
+}
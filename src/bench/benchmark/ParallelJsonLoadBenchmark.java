@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.JsonStreamReader;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Measures how loading a large JSON save scales with the number of threads reading its products.
+// threads = 0 reads on the benchmark thread without a pool. A save of about 1 GB has 5 million products.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class ParallelJsonLoadBenchmark {
+    @Param({"1000000"})
+    private int products;
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    private int threads;
+
+    private Path jsonFile;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Inventory inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            Product product = new Product("Product " + p, 100, 1.25 + p % 10);
+            inventory.addProduct(product);
+            product.sell(p % 100);
+        }
+        jsonFile = Files.createTempFile("save", ".json");
+        new JsonWriter(jsonFile.toString()).fullSave(inventory);
+        pool = threads == 0 ? null : new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Benchmark
+    public Inventory read() throws IOException {
+        return new JsonStreamReader(jsonFile.toString(), pool).read();
+    }
+}
@@ -0,0 +1,64 @@
+package benchmark;
+
+import model.Inventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Saving with JsonWriter.fullSave and loading with JsonReader.read, on generated saves from 10 to 10 million
+// products. Part of BenchmarkSuite. Each call is timed on its own, since the larger saves take seconds.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx12g")
+public class PersistenceBenchmark {
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    private int products;
+
+    private Inventory inventory;
+    private Path readFile; // generated save that is read
+    private Path writeFile; // where the inventory is saved
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        readFile = Files.createTempFile("generated", ".json");
+        writeFile = Files.createTempFile("save", ".json");
+        new SaveGenerator(SaveGenerator.DEFAULT_SEED).writeSave(products, readFile);
+        inventory = new SaveGenerator(SaveGenerator.DEFAULT_SEED).inventory(products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(readFile);
+        Files.deleteIfExists(writeFile);
+    }
+
+    @Benchmark
+    public void fullSave() throws IOException {
+        new JsonWriter(writeFile.toString()).fullSave(inventory);
+    }
+
+    @Benchmark
+    public Inventory read() throws IOException {
+        return new JsonReader(readFile.toString()).read();
+    }
+}
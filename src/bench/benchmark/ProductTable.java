@@ -0,0 +1,302 @@
+package benchmark;
+
+import model.EventLog;
+import model.EventType;
+import model.Inventory;
+import model.Product;
+
+import java.util.Arrays;
+
+// A product storage engine for very large catalogs that keeps each product field in its own primitive
+// array (a "struct of arrays") instead of one Product object per product. Row i of every array belongs to
+// the product with id i, so a scan over one field reads consecutive memory and no per-product object is
+// needed apart from the name. Names are found through an open-addressing hash table of row ids.
+// Row ids are handed out in insertion order and never reused; removed rows are skipped by every query.
+// Each row also has the id of the Product it mirrors, which is what its EventLog events name.
+// Unlike Inventory, a ProductTable is not safe to change from several threads at once.
+// An experiment kept with the benchmarks rather than the app: Product objects cannot be views over its rows
+// while their quantities change in one atomic step, so no inventory is backed by it. ProductTableBenchmark
+// measures its scans against the same scans over an Inventory's products.
+public class ProductTable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int EMPTY = 0;     // hash slot that was never used
+    private static final int REMOVED = -1;  // hash slot whose row was removed
+
+    private String[] names;
+    private int[] productIds; // the id each row's events are logged with, like Product.getId
+    private int[] quantityMaximum;
+    private int[] quantityAvailable;
+    private int[] quantitySold;
+    private double[] cost;
+    private int rows; // number of row ids handed out, including removed rows
+    private int size; // number of products currently in the table
+    private int[] slots; // hash table: row id + 1, or EMPTY / REMOVED
+    private int usedSlots; // slots that are not EMPTY
+
+    // EFFECTS: constructs an empty product table
+    public ProductTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    // REQUIRES: expectedProducts >= 0
+    // EFFECTS: constructs an empty product table with room for the expected number of products
+    public ProductTable(int expectedProducts) {
+        int capacity = Math.max(INITIAL_CAPACITY, expectedProducts);
+        names = new String[capacity];
+        productIds = new int[capacity];
+        quantityMaximum = new int[capacity];
+        quantityAvailable = new int[capacity];
+        quantitySold = new int[capacity];
+        cost = new double[capacity];
+        slots = new int[tableSizeFor(capacity)];
+    }
+
+    // EFFECTS: returns a table holding the same products as the inventory, in the same order and with the same
+    //          product ids
+    public static ProductTable of(Inventory inventory) {
+        ProductTable table = new ProductTable(inventory.getProducts().size());
+        for (Product p : inventory.getProducts()) {
+            int id = table.add(p.getName(), p.getQuantityMaximum(), p.getCost(), p.getId());
+            table.quantityAvailable[id] = p.getQuantityAvailable();
+            table.quantitySold[id] = p.getQuantitySold();
+        }
+        return table;
+    }
+
+    // REQUIRES: quantityOrdered > 0, cost > 0
+    // MODIFIES: this
+    // EFFECTS: adds a product with the given name, quantity, cost and product id (nothing sold yet), and returns
+    //          its row id. Throws IllegalArgumentException if a product with the same name is already in the table
+    public int add(String name, int quantityOrdered, double unitCost, int productId) {
+        if (idOf(name) >= 0) {
+            throw new IllegalArgumentException("Product " + name + " is already in the table");
+        }
+        if (rows == names.length) {
+            grow();
+        }
+        int id = rows++;
+        names[id] = name;
+        productIds[id] = productId;
+        quantityMaximum[id] = quantityOrdered;
+        quantityAvailable[id] = quantityOrdered;
+        quantitySold[id] = 0;
+        cost[id] = unitCost;
+        insertSlot(id);
+        size++;
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the product with given row id. Does nothing if there is no such product
+    public void remove(int id) {
+        if (!contains(id)) {
+            return;
+        }
+        int slot = findSlot(names[id]);
+        slots[slot] = REMOVED;
+        names[id] = null;
+        size--;
+    }
+
+    // EFFECTS: returns the row id of the product with given name, or -1 if there is none
+    public int idOf(String name) {
+        int slot = findSlot(name);
+        return slot < 0 ? -1 : slots[slot] - 1;
+    }
+
+    // EFFECTS: returns true if there is a product with given row id
+    public boolean contains(int id) {
+        return id >= 0 && id < rows && names[id] != null;
+    }
+
+    // REQUIRES: contains(id), unitsSold >= 0
+    // MODIFIES: this
+    // EFFECTS: same as Product.sell for the product with given row id
+    public boolean sell(int id, int unitsSold) {
+        if (unitsSold > quantityAvailable[id]) {
+            return false;
+        }
+        quantityAvailable[id] -= unitsSold;
+        quantitySold[id] += unitsSold;
+        EventLog.getInstance().record(EventType.PRODUCT_SOLD, productIds[id]);
+        return true;
+    }
+
+    // REQUIRES: contains(id)
+    // MODIFIES: this
+    // EFFECTS: same as Product.restock for the product with given row id
+    public double restock(int id, boolean restockingEnabled) {
+        double costToRestock = quantitySold[id] * cost[id];
+        if (restockingEnabled) {
+            quantityAvailable[id] = quantityMaximum[id];
+            quantitySold[id] = 0;
+            EventLog.getInstance().record(EventType.PRODUCT_RESTOCKED, productIds[id]);
+        }
+        return costToRestock;
+    }
+
+    // EFFECTS: returns the row ids of the products at or below threshold percent of their maximum quantity,
+    //          in row order. Uses the same integer comparison as Inventory.
+    public int[] lowStockIds(int threshold) {
+        int[] found = new int[Math.min(size, 1024)];
+        int count = 0;
+        for (int id = 0; id < rows; id++) {
+            if (names[id] != null && (long) quantityAvailable[id] * 100 <= (long) threshold * quantityMaximum[id]) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, found.length * 2);
+                }
+                found[count++] = id;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // EFFECTS: returns the cost to restock every product in the table to its maximum quantity
+    public double totalRestockCost() {
+        double total = 0;
+        for (int id = 0; id < rows; id++) {
+            if (names[id] != null) {
+                total += quantitySold[id] * cost[id];
+            }
+        }
+        return total;
+    }
+
+    // REQUIRES: contains(id)
+    // EFFECTS: returns a view of the product with given row id. The view reads and writes this table,
+    //          so it always shows the product's current quantities.
+    public Row row(int id) {
+        return new Row(id);
+    }
+
+    // REQUIRES: contains(id)
+    // EFFECTS: returns a new Product (with a new product id) with the same information as the product with given
+    //          row id
+    public Product toProduct(int id) {
+        return new Product(names[id], quantityMaximum[id], quantityAvailable[id], quantitySold[id], cost[id]);
+    }
+
+    // getters
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns one more than the largest row id handed out so far
+    public int getRowCount() {
+        return rows;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: doubles the room for rows and rebuilds the hash table for the new size
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        productIds = Arrays.copyOf(productIds, capacity);
+        quantityMaximum = Arrays.copyOf(quantityMaximum, capacity);
+        quantityAvailable = Arrays.copyOf(quantityAvailable, capacity);
+        quantitySold = Arrays.copyOf(quantitySold, capacity);
+        cost = Arrays.copyOf(cost, capacity);
+        rehash(tableSizeFor(capacity));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts every row that is still in the table into a new, empty hash table of given size
+    private void rehash(int tableSize) {
+        slots = new int[tableSize];
+        usedSlots = 0;
+        for (int id = 0; id < rows; id++) {
+            if (names[id] != null) {
+                insertSlot(id);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts row id into the first free slot for its name, rehashing first if the table is too full
+    private void insertSlot(int id) {
+        if ((usedSlots + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        int slot = hash(names[id]) & mask;
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+        usedSlots++;
+    }
+
+    // EFFECTS: returns the hash slot holding the row of the product with given name, or -1 if there is none
+    private int findSlot(String name) {
+        int mask = slots.length - 1;
+        int slot = hash(name) & mask;
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] != REMOVED && names[slots[slot] - 1].equals(name)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns the hash of name, with the high bits mixed into the low bits that pick the slot
+    private static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // EFFECTS: returns the smallest power of two that is at least twice the given capacity
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1;
+    }
+
+    // A view of one row of the table that behaves like a Product, without holding any product data itself
+    public final class Row {
+        private final int id;
+
+        private Row(int id) {
+            this.id = id;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: same as Product.sell
+        public boolean sell(int unitsSold) {
+            return ProductTable.this.sell(id, unitsSold);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: same as Product.restock
+        public double restock(boolean restockingEnabled) {
+            return ProductTable.this.restock(id, restockingEnabled);
+        }
+
+        // getters
+        public int getId() {
+            return id;
+        }
+
+        public int getProductId() {
+            return productIds[id];
+        }
+
+        public String getName() {
+            return names[id];
+        }
+
+        public int getQuantityMaximum() {
+            return quantityMaximum[id];
+        }
+
+        public int getQuantityAvailable() {
+            return quantityAvailable[id];
+        }
+
+        public int getQuantitySold() {
+            return quantitySold[id];
+        }
+
+        public double getCost() {
+            return cost[id];
+        }
+    }
+}
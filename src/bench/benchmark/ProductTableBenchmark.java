@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Compares full-catalog scans over Product objects in an Inventory with the same scans over a ProductTable.
+// Setup checks that both give the same answers before anything is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProductTableBenchmark {
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private Inventory inventory;
+    private ProductTable table;
+
+    @Setup
+    public void setUp() {
+        inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            Product product = new Product("Product " + p, 100, 1.25);
+            inventory.addProduct(product);
+            product.sell(p % 100);
+        }
+        table = ProductTable.of(inventory);
+        if (objectRestockCost() != tableRestockCost() || objectLowStockScan() != tableLowStockScan()) {
+            throw new IllegalStateException("ProductTable does not match the inventory it was made from");
+        }
+    }
+
+    @Benchmark
+    public double objectRestockCost() {
+        double total = 0;
+        for (Product p : inventory.getProducts()) {
+            total += p.restock(false);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double tableRestockCost() {
+        return table.totalRestockCost();
+    }
+
+    @Benchmark
+    public int objectLowStockScan() {
+        int count = 0;
+        for (Product p : inventory.getProducts()) {
+            if (p.getQuantityAvailable() * 100 <= inventory.getThreshold() * p.getQuantityMaximum()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int tableLowStockScan() {
+        return table.lowStockIds(inventory.getThreshold()).length;
+    }
+}
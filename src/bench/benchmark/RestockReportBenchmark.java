@@ -0,0 +1,53 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import model.RestockReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Compares a sequential and a parallel restock report over inventories of different sizes, to pick
+// Inventory.PARALLEL_REPORT_MIN_PRODUCTS for the machine
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RestockReportBenchmark {
+    @Param({"100", "10000", "1000000"})
+    private int products;
+
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            Product product = new Product("Product " + p, 100, 1.00 + p % 13);
+            inventory.addProduct(product);
+            product.sell(p % 100);
+        }
+    }
+
+    @Benchmark
+    public RestockReport sequential() {
+        return RestockReport.of(inventory.getProducts(), inventory.getThreshold(), 10, false);
+    }
+
+    @Benchmark
+    public RestockReport parallel() {
+        return RestockReport.of(inventory.getProducts(), inventory.getThreshold(), 10, true);
+    }
+}
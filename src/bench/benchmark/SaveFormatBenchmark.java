@@ -0,0 +1,84 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+import persistence.JsonStreamReader;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Compares saving and loading an inventory in the JSON and the binary save formats
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SaveFormatBenchmark {
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private Inventory inventory;
+    private Path jsonFile;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            Product product = new Product("Product " + p, 100, 1.25 + p % 10);
+            inventory.addProduct(product);
+            product.sell(p % 100);
+        }
+        jsonFile = Files.createTempFile("save", ".json");
+        binaryFile = Files.createTempFile("save", ".bin");
+        new JsonWriter(jsonFile.toString()).fullSave(inventory);
+        new BinaryWriter(binaryFile.toString()).fullSave(inventory);
+        System.out.println("\nJSON save: " + Files.size(jsonFile) + " bytes, binary save: "
+                + Files.size(binaryFile) + " bytes");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public void saveJson() throws IOException {
+        new JsonWriter(jsonFile.toString()).fullSave(inventory);
+    }
+
+    @Benchmark
+    public void saveBinary() throws IOException {
+        new BinaryWriter(binaryFile.toString()).fullSave(inventory);
+    }
+
+    @Benchmark
+    public Inventory loadJson() throws IOException {
+        return new JsonStreamReader(jsonFile.toString()).read();
+    }
+
+    @Benchmark
+    public Inventory loadBinary() throws IOException {
+        return new BinaryReader(binaryFile.toString()).read();
+    }
+}
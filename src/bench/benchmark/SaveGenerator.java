@@ -0,0 +1,76 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+
+// Generates synthetic inventories and JSON saves of any size for the benchmarks. A save has the same shape as
+// data/testReaderManyProductsInInventoryAndSold.json: products with a maximum quantity, some units sold, and a
+// cost, so the same seed always gives the same save.
+// Can also be run on its own: SaveGenerator <products> <save file> [seed]
+public final class SaveGenerator {
+    public static final long DEFAULT_SEED = 210;
+
+    private final Random random;
+
+    // EFFECTS: constructs a generator whose products are picked by a random generator with given seed
+    public SaveGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SaveGenerator <products> <save file> [seed]");
+            return;
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        new SaveGenerator(seed).writeSave(Integer.parseInt(args[0]), Paths.get(args[1]));
+    }
+
+    // EFFECTS: returns the name of the product with given number, which is the same in every generated save
+    public static String nameOf(int product) {
+        return "Product " + product;
+    }
+
+    // EFFECTS: returns an inventory with given number of generated products
+    public Inventory inventory(int products) {
+        Inventory inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            int maximum = 10 + random.nextInt(91);
+            int sold = random.nextInt(maximum + 1);
+            double cost = (1 + random.nextInt(2000)) / 4.0;
+            Product product = new Product(nameOf(p), maximum, maximum - sold, sold, cost);
+            inventory.addProduct(product);
+        }
+        return inventory;
+    }
+
+    // MODIFIES: file
+    // EFFECTS: writes a JSON save with given number of generated products to file, one product at a time, so any
+    //          number of products can be written without holding them in memory
+    public void writeSave(int products, Path file) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write("{\n    \"threshold\": 15,\n    \"products\": [");
+            for (int p = 0; p < products; p++) {
+                int maximum = 10 + random.nextInt(91);
+                int sold = random.nextInt(maximum + 1);
+                double cost = (1 + random.nextInt(2000)) / 4.0;
+                out.write(p == 0 ? "\n" : ",\n");
+                out.write(String.format(Locale.ROOT, "        {\n            \"quantityMaximum\": %d,\n"
+                        + "            \"quantityAvailable\": %d,\n            \"cost\": %s,\n"
+                        + "            \"name\": \"%s\",\n            \"quantitySold\": %d\n        }",
+                        maximum, maximum - sold, cost, nameOf(p), sold));
+            }
+            out.write("\n    ]\n}\n");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import model.Inventory;
+import model.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Measures type-ahead suggestions from ProductSearchIndex: names starting with what was typed, and names similar
+// to a misspelled name, on catalogs of generated products
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class SearchIndexBenchmark {
+    private static final int LIMIT = 10;
+
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private ProductSearchIndex index;
+    private String prefix;
+    private String misspelled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Inventory inventory = new SaveGenerator(SaveGenerator.DEFAULT_SEED).inventory(products);
+        index = inventory.getSearchIndex();
+        String name = SaveGenerator.nameOf(products / 3);
+        prefix = name.substring(0, name.length() - 1).toLowerCase();
+        misspelled = "Prodcut " + name.substring("Product ".length());
+    }
+
+    @Benchmark
+    public List<String> startingWith() {
+        return index.startingWith(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> similarTo() {
+        return index.similarTo(misspelled, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return index.suggest(misspelled, LIMIT);
+    }
+}
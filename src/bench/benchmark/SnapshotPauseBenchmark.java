@@ -0,0 +1,88 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.Journal;
+import persistence.Snapshotter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Samples how long a sale, and adding and removing a product, take while the inventory is being saved over and
+// over in the background, to check that taking a snapshot never holds sales or changes to the products up for the
+// length of the save. Adding or removing a product copies the inventory's product list, which the snapshot reads
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotPauseBenchmark {
+    @Param({"10000", "1000000"})
+    private int products;
+
+    @Param({"false", "true"})
+    private boolean snapshotting;
+
+    private Inventory inventory;
+    private Product product;
+    private Path journalFile;
+    private Path saveFile;
+    private Journal journal;
+    private Snapshotter snapshotter;
+    private int added; // number of products added by addAndRemove so far
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inventory = new Inventory();
+        for (int p = 0; p < products; p++) {
+            inventory.addProduct(new Product("Product " + p, Integer.MAX_VALUE, 1.25));
+        }
+        product = inventory.findProduct("Product 0");
+        journalFile = Files.createTempFile("journal", ".bin");
+        Files.delete(journalFile);
+        saveFile = Files.createTempFile("save", ".json");
+        journal = new Journal(journalFile.toString());
+        inventory.addObserver(journal);
+        snapshotter = new Snapshotter(inventory, saveFile.toString(), journal);
+        if (snapshotting) {
+            snapshotter.startPeriodic(1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        snapshotter.close();
+        journal.close();
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(saveFile);
+    }
+
+    @Benchmark
+    public boolean sell() {
+        return product.sell(1);
+    }
+
+    @Benchmark
+    public Product addAndRemove() {
+        Product p = new Product("Added " + added++, 100, 1.25);
+        inventory.addProduct(p);
+        inventory.removeProduct(p);
+        return p;
+    }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Inventory;
+import model.Product;
+import model.StockLevelQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Measures "most depleted first" queries on StockLevelQueue against scanning every product, and what keeping the
+// queue up to date adds to selling and restocking a product
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class StockLevelQueueBenchmark {
+    private static final int TOP = 20;
+    private static final int PERCENT = 2;
+
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private Inventory inventory;
+    private StockLevelQueue queue;
+    private Product product;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inventory = new SaveGenerator(SaveGenerator.DEFAULT_SEED).inventory(products);
+        queue = inventory.getStockLevelQueue();
+        product = inventory.findProduct(SaveGenerator.nameOf(products / 2));
+    }
+
+    @Benchmark
+    public List<Product> mostDepleted() {
+        return queue.mostDepleted(TOP);
+    }
+
+    @Benchmark
+    public List<Product> atOrBelow() {
+        return queue.atOrBelow(PERCENT);
+    }
+
+    @Benchmark
+    public long scanAtOrBelow() {
+        return inventory.getProducts().stream()
+                .filter(p -> (long) p.getQuantityAvailable() * 100 <= (long) PERCENT * p.getQuantityMaximum())
+                .count();
+    }
+
+    @Benchmark
+    public double sellAndRestock() {
+        product.sell(1);
+        return product.restock(true);
+    }
+}
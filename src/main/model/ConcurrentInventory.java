@@ -0,0 +1,172 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// An inventory for stores where many registers add, remove, find and sell products at the same time.
+// Inventory holds one lock for every product added or removed, so registers adding products queue up behind
+// each other however many cores there are. Here the products are split into stripes by the hash of their name,
+// each with its own lock: adding or removing a product, and selling or restocking it, only holds the lock of its
+// stripe, so registers working on different products rarely wait for each other. Reads (findProduct,
+// getProducts, viewLowStockProducts) take no lock at all.
+// Holding the stripe lock in sell and restock means a product can never be sold through them once removeProduct
+// has returned; a product that findProduct handed out can still be sold directly, without that guarantee.
+// Unlike Inventory, there are no observers and low-stock products are found by checking every product.
+// Products are also kept in a skip list by when they were added, so they can be listed in that order without
+// sorting them and without a lock.
+public class ConcurrentInventory implements StoreInventory {
+    private static final int DEFAULT_THRESHOLD = 15;
+    private static final int MIN_STRIPES = 16;
+    private static final int STRIPES_PER_CORE = 16;
+
+    private final ConcurrentHashMap<String, Product> products; // all products in the store, keyed by name
+    private final ConcurrentSkipListMap<Long, Product> byPosition; // the same products, keyed and ordered by
+                                                                   // position, which is when they were added
+    private final AtomicLong nextPosition; // position of the next product added
+    private final Object[] stripes; // stripe locks; a product's stripe is picked by the hash of its name
+    private volatile int threshold; // percentage of products' maximum quantity that determines if it
+                                    // is nearly out of stock
+
+    // EFFECTS: constructs a store inventory with no products, and enough stripes for every core to work on its
+    //          own stripe most of the time
+    public ConcurrentInventory() {
+        this(STRIPES_PER_CORE * Runtime.getRuntime().availableProcessors());
+    }
+
+    // REQUIRES: stripes > 0
+    // EFFECTS: constructs a store inventory with no products and at least the given number of stripes
+    public ConcurrentInventory(int stripes) {
+        this.products = new ConcurrentHashMap<>();
+        this.byPosition = new ConcurrentSkipListMap<>();
+        this.nextPosition = new AtomicLong();
+        this.stripes = new Object[Integer.highestOneBit(Math.max(MIN_STRIPES, stripes) * 2 - 1)];
+        for (int s = 0; s < this.stripes.length; s++) {
+            this.stripes[s] = new Object();
+        }
+        this.threshold = DEFAULT_THRESHOLD;
+    }
+
+    // REQUIRES: 0 < threshold < 100
+    // MODIFIES: this
+    // EFFECTS: changes the percentage of when a product is deemed "nearly out of stock" to given value
+    @Override
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    // REQUIRES: product is not in any other inventory
+    // MODIFIES: this
+    // EFFECTS: adds given product to the products and logs the event into EventLog.
+    //          Throws IllegalArgumentException if a product with the same name is already in the inventory
+    @Override
+    public void addProduct(Product product) {
+        synchronized (stripeOf(product.getName())) {
+            if (products.putIfAbsent(product.getName(), product) != null) {
+                throw new IllegalArgumentException("Product " + product.getName() + " is already in the inventory");
+            }
+            product.setPosition(nextPosition.getAndIncrement());
+            byPosition.put(product.getPosition(), product);
+        }
+        EventLog.getInstance().record(EventType.PRODUCT_ADDED, product.getId());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes given product from the products, logs the event into EventLog and returns true.
+    //          Returns false if it is not in the inventory
+    public boolean removeProduct(Product product) {
+        synchronized (stripeOf(product.getName())) {
+            if (!products.remove(product.getName(), product)) {
+                return false;
+            }
+            byPosition.remove(product.getPosition());
+        }
+        EventLog.getInstance().record(EventType.PRODUCT_DELETED, product.getId());
+        return true;
+    }
+
+    // EFFECTS: returns the product with the given name, or null if there is none. Takes no lock
+    @Override
+    public Product findProduct(String productName) {
+        return products.get(productName);
+    }
+
+    // REQUIRES: unitsSold >= 0
+    // MODIFIES: the product with the given name
+    // EFFECTS: sells the given number of units of the product with the given name, as Product.sell does, and
+    //          returns true, or returns false if it does not have enough units available. Holds the product's stripe
+    //          lock, so a removed product is never sold. Throws IllegalArgumentException if there is no such product
+    @Override
+    public boolean sell(String productName, int unitsSold) {
+        synchronized (stripeOf(productName)) {
+            return require(productName).sell(unitsSold);
+        }
+    }
+
+    // MODIFIES: the product with the given name
+    // EFFECTS: restocks the product with the given name to its maximum quantity, as Product.restock does, and
+    //          returns what it cost. Holds the product's stripe lock, so a removed product is never restocked.
+    //          Throws IllegalArgumentException if there is no such product
+    @Override
+    public double restock(String productName) {
+        synchronized (stripeOf(productName)) {
+            return require(productName).restock(true);
+        }
+    }
+
+    // EFFECTS: returns the product with the given name. Throws IllegalArgumentException if there is none
+    private Product require(String productName) {
+        Product p = products.get(productName);
+        if (p == null) {
+            throw new IllegalArgumentException("No product named " + productName);
+        }
+        return p;
+    }
+
+    // EFFECTS: returns the products that are close to, or already are, out of stock, in the order they were
+    //          added. Takes no lock: products added or removed meanwhile may or may not be included
+    @Override
+    public List<Product> viewLowStockProducts() {
+        List<Product> lowStock = new ArrayList<>();
+        int threshold = this.threshold;
+        for (Product p : byPosition.values()) {
+            if ((long) p.getQuantityAvailable() * 100 <= (long) threshold * p.getQuantityMaximum()) {
+                lowStock.add(p);
+            }
+        }
+        return lowStock;
+    }
+
+    // EFFECTS: returns a view of the threshold and the products, which can be saved with JsonWriter or
+    //          BinaryWriter while products keep being sold
+    @Override
+    public InventoryView view() {
+        return new InventoryView(threshold, getProducts());
+    }
+
+    // getters
+    @Override
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // EFFECTS: returns a new list of the products in the order they were added. Takes no lock: products added
+    //          or removed meanwhile may or may not be included
+    @Override
+    public List<Product> getProducts() {
+        return new ArrayList<>(byPosition.values());
+    }
+
+    // EFFECTS: returns the number of products in the inventory
+    public int size() {
+        return products.size();
+    }
+
+    // EFFECTS: returns the lock of the stripe the product with the given name belongs to
+    private Object stripeOf(String productName) {
+        int hash = productName.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -12,6 +12,7 @@ public class Event {
     private static final int HASH_CONSTANT = 13;
     private Date dateLogged;
     private String description;
+    private int productId;
 
     /**
      * Creates an event with the given description
@@ -21,6 +22,19 @@ public class Event {
     public Event(String description) {
         dateLogged = Calendar.getInstance().getTime();
         this.description = description;
+        this.productId = -1;
+    }
+
+    /**
+     * Creates an event from a record that EventLog stored without an Event object.
+     * @param type        the type of event, which gives its description
+     * @param epochNanos  when the event happened, in nanoseconds since 1970-01-01T00:00Z
+     * @param productId   the id of the product the event is about
+     */
+    Event(EventType type, long epochNanos, int productId) {
+        dateLogged = new Date(epochNanos / 1_000_000L);
+        this.description = type.getDescription();
+        this.productId = productId;
     }
 
     /**
@@ -39,6 +53,14 @@ public class Event {
         return description;
     }
 
+    /**
+     * Gets the id of the product this event is about.
+     * @return  the product's id, or -1 if the event is not about a single product
+     */
+    public int getProductId() {
+        return productId;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == null) {
@@ -1,8 +1,19 @@
 package model;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a log of alarm system events.
@@ -10,51 +21,294 @@ import java.util.Iterator;
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
  * Code is from the CPSC 210 AlarmSystem project
+ *
+ * <p>Events are kept in a fixed-capacity ring buffer. Any number of threads
+ * can log events at once without taking a lock: each event claims the next
+ * sequence number with an atomic increment and is published into the slot
+ * that number maps to. What happens once the buffer is full is decided by
+ * the {@link OverflowPolicy}.</p>
+ *
+ * <p>The model records its own events with {@link #record(EventType, int)},
+ * which stores a timestamp, a type code and a product id into arrays that
+ * were allocated up front. No Event object is made for these until someone
+ * iterates over the log.</p>
  */
 public class EventLog implements Iterable<Event> {
+    /** number of events kept when no other capacity is configured */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** What to do with an event that does not fit because the log is full. */
+    public enum OverflowPolicy {
+        /** the oldest event is overwritten (and counted as dropped) */
+        OVERWRITE_OLDEST,
+        /** the new event is dropped, until the log is cleared */
+        DROP_NEWEST,
+        /** the oldest event is appended to a spill file, then overwritten */
+        SPILL_TO_DISK
+    }
+
+    // epoch time and System.nanoTime() at the same moment, so record can get an epoch time without allocating
+    private static final long EPOCH_NANOS_AT_START = System.currentTimeMillis() * 1_000_000L;
+    private static final long NANO_TIME_AT_START = System.nanoTime();
+
     /** the only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    private static final EventLog theLog = new EventLog();
+    private volatile Ring ring;
 
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
      */
     private EventLog() {
-        events = new ArrayList<Event>();
+        ring = new Ring(DEFAULT_CAPACITY, OverflowPolicy.OVERWRITE_OLDEST, null);
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog. The instance is created when the class
+     * is loaded, so this is safe to call from any thread.
      * (Singleton Design Pattern)
      * @return  instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
         return theLog;
     }
 
+    /**
+     * Replaces the event log's storage with an empty one of the given capacity
+     * and overflow policy. Events already logged are discarded.
+     * @param capacity   the number of events to keep; rounded up to a power of two
+     * @param policy     what to do with events that do not fit
+     * @param spillFile  the file evicted events are appended to; only used by SPILL_TO_DISK
+     */
+    public void configure(int capacity, OverflowPolicy policy, Path spillFile) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event log capacity must be positive");
+        }
+        if (policy == OverflowPolicy.SPILL_TO_DISK && spillFile == null) {
+            throw new IllegalArgumentException("SPILL_TO_DISK needs a spill file");
+        }
+        Ring old = ring;
+        ring = new Ring(capacity, policy, spillFile);
+        old.closeSpillFile();
+    }
+
     /**
      * Adds an event to the event log.
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        ring.add(e, null, 0, -1);
+    }
+
+    /**
+     * Adds an event of the given type about the given product to the event
+     * log, with the current time, without allocating an Event object.
+     * @param type       the type of event
+     * @param productId  the id of the product the event is about
+     */
+    public void record(EventType type, int productId) {
+        ring.add(null, type, EPOCH_NANOS_AT_START + (System.nanoTime() - NANO_TIME_AT_START), productId);
     }
 
     /**
      * Clears the event log and logs the event.
      */
     public void clear() {
-        events.clear();
+        ring.clear();
         logEvent(new Event("Event log cleared."));
     }
 
+    /**
+     * Gets the number of events the log can hold.
+     * @return  the capacity of the log
+     */
+    public int getCapacity() {
+        return ring.capacity;
+    }
+
+    /**
+     * Gets the policy applied when the log is full.
+     * @return  the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return ring.policy;
+    }
+
+    /**
+     * Gets the number of events that were lost because the log was full
+     * (or, when spilling, because the spill file could not be written).
+     * @return  the number of dropped events since the log was last configured
+     */
+    public long getDroppedCount() {
+        return ring.dropped.get();
+    }
+
+    /**
+     * Gets the number of events that were moved to the spill file.
+     * @return  the number of spilled events since the log was last configured
+     */
+    public long getSpilledCount() {
+        return ring.spilled.get();
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the events currently in the log,
+     * oldest first. Events logged after this call are not seen by the iterator.
+     * @return  an iterator over the logged events
+     */
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        return ring.snapshot().iterator();
+    }
+
+    /**
+     * The ring buffer that stores the events. Sequence number n is stored in
+     * slot n % capacity; published[slot] holds n + 1 once the event for n is
+     * fully written, which is how readers and later writers know it is there.
+     * A slot holds either an Event object, or (when the Event is null) the
+     * time, type ordinal and product id of a recorded event.
+     */
+    private static final class Ring {
+        private static final EventType[] EVENT_TYPES = EventType.values();
+
+        private final int capacity;
+        private final int mask;
+        private final OverflowPolicy policy;
+        private final AtomicReferenceArray<Event> events;
+        private final AtomicLongArray epochNanos;
+        private final AtomicIntegerArray types;
+        private final AtomicIntegerArray productIds;
+        private final AtomicLongArray published;
+        private final AtomicLong next = new AtomicLong(); // next sequence number to hand out
+        private volatile long start; // first sequence number that has not been cleared
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong spilled = new AtomicLong();
+        private final Path spillFile;
+        private BufferedWriter spillWriter; // guarded by this; opened when the first event is spilled
+
+        private Ring(int requestedCapacity, OverflowPolicy policy, Path spillFile) {
+            this.capacity = roundUpToPowerOfTwo(requestedCapacity);
+            this.mask = capacity - 1;
+            this.policy = policy;
+            this.events = new AtomicReferenceArray<>(capacity);
+            this.epochNanos = new AtomicLongArray(capacity);
+            this.types = new AtomicIntegerArray(capacity);
+            this.productIds = new AtomicIntegerArray(capacity);
+            this.published = new AtomicLongArray(capacity);
+            this.spillFile = spillFile;
+        }
+
+        private static int roundUpToPowerOfTwo(int n) {
+            int powerOfTwo = 1;
+            while (powerOfTwo < n && powerOfTwo < (1 << 30)) {
+                powerOfTwo <<= 1;
+            }
+            return powerOfTwo;
+        }
+
+        private void add(Event e, EventType type, long nanos, int productId) {
+            long seq = claim();
+            if (seq < 0) {
+                dropped.incrementAndGet();
+                return;
+            }
+            int slot = (int) seq & mask;
+            if (seq >= capacity) {
+                evict(seq - capacity, slot);
+            }
+            published.set(slot, -1); // lets readers that are copying the old event notice it is being replaced
+            events.set(slot, e);
+            if (e == null) {
+                epochNanos.set(slot, nanos);
+                types.set(slot, type.ordinal());
+                productIds.set(slot, productId);
+            }
+            published.set(slot, seq + 1);
+        }
+
+        // returns the sequence number for a new event, or -1 if the event must be dropped
+        private long claim() {
+            if (policy != OverflowPolicy.DROP_NEWEST) {
+                return next.getAndIncrement();
+            }
+            long seq = next.get();
+            while (seq - start < capacity) {
+                if (next.compareAndSet(seq, seq + 1)) {
+                    return seq;
+                }
+                seq = next.get();
+            }
+            return -1;
+        }
+
+        // waits until the writer of the previous event in slot is done, then deals with that event
+        private void evict(long oldSeq, int slot) {
+            while (published.get(slot) != oldSeq + 1) {
+                Thread.onSpinWait();
+            }
+            if (oldSeq < start) {
+                return; // it was cleared already
+            }
+            if (policy == OverflowPolicy.SPILL_TO_DISK) {
+                spill(eventAt(slot));
+            } else {
+                dropped.incrementAndGet();
+            }
+        }
+
+        // returns the event in slot, making an Event object for it if it was recorded without one
+        private Event eventAt(int slot) {
+            Event e = events.get(slot);
+            if (e == null) {
+                e = new Event(EVENT_TYPES[types.get(slot)], epochNanos.get(slot), productIds.get(slot));
+            }
+            return e;
+        }
+
+        private synchronized void spill(Event e) {
+            try {
+                if (spillWriter == null) {
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                spillWriter.write(e.getDate().getTime() + "\t" + e.getDescription());
+                spillWriter.newLine();
+                spillWriter.flush();
+                spilled.incrementAndGet();
+            } catch (IOException ex) {
+                dropped.incrementAndGet();
+            }
+        }
+
+        private synchronized void closeSpillFile() {
+            try {
+                if (spillWriter != null) {
+                    spillWriter.close();
+                }
+            } catch (IOException ex) {
+                // nothing more can be done with the spill file
+            }
+        }
+
+        private void clear() {
+            start = next.get();
+        }
+
+        private List<Event> snapshot() {
+            long first = start;
+            long end = next.get();
+            first = Math.max(first, end - capacity);
+            List<Event> copy = new ArrayList<>((int) (end - first));
+            for (long seq = first; seq < end; seq++) {
+                int slot = (int) seq & mask;
+                if (published.get(slot) == seq + 1) {
+                    Event e = eventAt(slot);
+                    if (published.get(slot) == seq + 1) {
+                        copy.add(e); // still the same event, so it was not overwritten while being read
+                    }
+                }
+            }
+            return Collections.unmodifiableList(copy);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package model;
+
+// The kinds of events that the model records into EventLog, with the description each one is shown with.
+// Recording a type code instead of an Event object lets the model log without allocating anything.
+public enum EventType {
+    PRODUCT_ADDED("Product added to the inventory"),
+    PRODUCT_DELETED("Product deleted from the inventory"),
+    PRODUCT_SOLD("Product sold"),
+    PRODUCT_RESTOCKED("Product restocked");
+
+    private final String description;
+
+    EventType(String description) {
+        this.description = description;
+    }
+
+    // EFFECTS: returns the description that events of this type are shown with
+    public String getDescription() {
+        return description;
+    }
+}
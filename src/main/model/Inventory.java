@@ -5,69 +5,464 @@ import org.json.JSONObject;
 import persistence.Writable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 // Represents the collection of all products in store
-public class Inventory implements Writable {
+public class Inventory implements StoreInventory, Writable {
+    public static final int PARALLEL_REPORT_MIN_PRODUCTS = 10000; // smaller inventories are reported on
+                                                                  // one thread, where it is faster
     private static final int DEFAULT_THRESHOLD = 15;
 
-    private List<Product> products; // list of all products in the store
-    private int threshold; // percentage of products' maximum quantity that determines if it
-                           // is nearly out of stock
+    private volatile Map<String, Product> products; // all loaded products in the store, keyed by name
+    private final ProductSlots productList; // the same products in the order they were added. Adding or removing
+                                            // one takes constant time; getProducts copies them into a read-only
+                                            // list only when they changed since the last copy
+    private Set<Product> lowStockProducts; // loaded products that are currently at or below the threshold, in the
+                                           // order of the products (by Product position). Also the lock held for
+                                           // every change to the products, the threshold or this set. A sale
+                                           // holds only the lock of the product sold, and takes this one as
+                                           // well only when the product crosses the threshold. Locks are taken
+                                           // in that order: a product's lock first, then this one
+    private volatile int threshold; // percentage of products' maximum quantity that determines if it
+                                    // is nearly out of stock
+    private List<InventoryObserver> observers; // told about every change, while holding the lock of the product
+                                               // changed (and this inventory's lock for added or removed products)
+    private ProductSearchIndex searchIndex; // index of the product names, or null until it is first asked for
+    private StockLevelQueue stockLevelQueue; // products by how full their stock is, or null until first asked for
+    private long nextPosition; // position of the next product added; saved products come first, by save order
+    private volatile SavedProducts saved; // products of a save that are loaded when first needed, or null once
+                                          // they all are. Products added since the save are in products
 
     // EFFECTS: constructs a store inventory with no products
     public Inventory() {
-        this.products = new ArrayList<>();
+        this.products = new ConcurrentHashMap<>();
+        this.productList = new ProductSlots();
+        this.lowStockProducts = new TreeSet<>(Comparator.comparingLong(Product::getPosition));
         this.threshold = DEFAULT_THRESHOLD;
+        this.observers = new CopyOnWriteArrayList<>();
+    }
+
+    // REQUIRES: 0 < threshold < 100
+    // EFFECTS: constructs a store inventory with the products of a save and given threshold. A saved product is
+    //          only loaded when it is first looked up with findProduct, when a method needs every product (such
+    //          as getProducts), or by viewLowStockProducts if it is low stock. Loading a product does not log an
+    //          event.
+    public Inventory(ProductSource savedProducts, int threshold) {
+        this();
+        this.threshold = threshold;
+        if (savedProducts.size() > 0) {
+            this.saved = new SavedProducts(savedProducts);
+            this.nextPosition = savedProducts.size();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an observer that is told about every change made to the inventory from now on
+    public void addObserver(InventoryObserver observer) {
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops telling given observer about changes
+    public void removeObserver(InventoryObserver observer) {
+        observers.remove(observer);
     }
 
     // REQUIRES: 0 < threshold < 100
     // MODIFIES: this
     // EFFECTS: changes the percentage of when a product is deemed
-    //          "nearly out of stock" to given value.
+    //          "nearly out of stock" to given value, and recomputes which of the loaded products are low stock.
+    @Override
     public void setThreshold(int threshold) {
-        this.threshold = threshold;
+        synchronized (lowStockProducts) {
+            this.threshold = threshold;
+            lowStockProducts.clear();
+            for (Product p: loadedProducts()) {
+                if (isLowStock(p.getQuantityAvailable(), p.getQuantityMaximum())) {
+                    lowStockProducts.add(p);
+                }
+            }
+            for (InventoryObserver o : observers) {
+                o.thresholdChanged(threshold);
+            }
+        }
     }
 
-    // REQUIRES: product does not share the same name with other products in this.products
-    // MODIFIES: this
-    // EFFECTS: adds given product to the list of products and logs the event into EventLog
+    // REQUIRES: product is not in any other inventory
+    // MODIFIES: this, product
+    // EFFECTS: adds given product to the products and logs the event into EventLog.
+    //          Throws IllegalArgumentException if a product with the same name is already in the inventory
+    @Override
     public void addProduct(Product product) {
-        products.add(product);
-        EventLog.getInstance().logEvent(new Event("Product added to the inventory"));
+        synchronized (product) {
+            synchronized (lowStockProducts) {
+                if ((saved != null && saved.contains(product.getName()))
+                        || products.putIfAbsent(product.getName(), product) != null) {
+                    throw new IllegalArgumentException("Product " + product.getName()
+                            + " is already in the inventory");
+                }
+                productList.add(product);
+                product.setPosition(nextPosition++);
+                product.setInventory(this);
+                long stock = product.getStock();
+                updateLowStock(product);
+                for (InventoryObserver o : observers) {
+                    o.productAdded(product, Product.available(stock), Product.sold(stock));
+                }
+            }
+        }
+        EventLog.getInstance().record(EventType.PRODUCT_ADDED, product.getId());
     }
 
-    // REQUIRES: product must be in list of products
-    // MODIFIES: this
-    // EFFECTS: removes given product from list of products and logs the event into EventLog
+    // REQUIRES: none of the products are in any other inventory
+    // MODIFIES: this, products
+    // EFFECTS: adds the products of a save to the products, in order, making room for all of them at once.
+    //          Unlike addProduct, logs no event for each product, since loading a save does not change the store.
+    //          Throws IllegalArgumentException if two products have the same name, or a product has the same
+    //          name as one already in the inventory; the products before it are still added
+    public void addSavedProducts(List<Product> saved) {
+        synchronized (lowStockProducts) {
+            if (products.isEmpty() && this.saved == null) {
+                products = new ConcurrentHashMap<>((int) (saved.size() / 0.75f) + 1);
+            }
+            for (Product product : saved) {
+                addSavedProduct(product);
+            }
+        }
+    }
+
+    // REQUIRES: product is not in any other inventory
+    // MODIFIES: this, product
+    // EFFECTS: adds given product of a save to the products without logging an event.
+    //          Throws IllegalArgumentException if a product with the same name is already in the inventory.
+    //          Caller must hold the lock on lowStockProducts
+    private void addSavedProduct(Product product) {
+        if (products.putIfAbsent(product.getName(), product) != null) {
+            throw new IllegalArgumentException("Product " + product.getName() + " is already in the inventory");
+        }
+        productList.add(product);
+        product.setPosition(nextPosition++);
+        product.setInventory(this);
+        long stock = product.getStock();
+        updateLowStock(product);
+        for (InventoryObserver o : observers) {
+            o.productAdded(product, Product.available(stock), Product.sold(stock));
+        }
+    }
+
+    // REQUIRES: product must be in the inventory
+    // MODIFIES: this, product
+    // EFFECTS: removes given product from the products and logs the event into EventLog
     public void removeProduct(Product product) {
-        products.remove(product);
-        EventLog.getInstance().logEvent(new Event("Product deleted from the inventory"));
+        removeSavedProduct(product);
+        EventLog.getInstance().record(EventType.PRODUCT_DELETED, product.getId());
     }
 
-    // REQUIRES: productList.size() > 0
-    // EFFECTS: shows products that are close to, or already are, out of stock.
-    //          Inventory threshold is used to classify whether a product is close to
-    //          being out of stock
+    // REQUIRES: product must be in the inventory
+    // MODIFIES: this, product
+    // EFFECTS: removes given product from the products without logging an event. Used when a journal of earlier
+    //          changes is replayed, which does not change the store (like addSavedProducts)
+    public void removeSavedProduct(Product product) {
+        synchronized (product) {
+            synchronized (lowStockProducts) {
+                if (products.remove(product.getName(), product)) {
+                    productList.remove(product);
+                } else if (saved != null) {
+                    saved.remove(product);
+                }
+                product.setInventory(null);
+                lowStockProducts.remove(product);
+                for (InventoryObserver o : observers) {
+                    o.productRemoved(product);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: shows products that are close to, or already are, out of stock, in the order of the
+    //          products (the order getProducts returns them in). Inventory threshold is used to classify
+    //          whether a product is close to being out of stock. Of the saved products that were not loaded yet,
+    //          only the ones that are low stock are loaded.
+    @Override
     public List<Product> viewLowStockProducts() {
-        List<Product> lowStockProducts = new ArrayList<>();
-        for (Product p: products) {
-            double stockPercent = (double) p.getQuantityAvailable() / p.getQuantityMaximum() * 100;
-            if (stockPercent <= threshold) {
-                lowStockProducts.add(p);
+        synchronized (lowStockProducts) {
+            loadLowStockSaved();
+            return new ArrayList<>(lowStockProducts);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: tells the observers about given product's new quantities after its available quantity changed
+    //          from availableBefore to availableAfter, unless it is no longer in this inventory. Called by Product
+    //          whenever it is sold or restocked, possibly from several threads at once. Only the product's lock is
+    //          held, unless the change crossed the threshold: then the low-stock products are updated under the
+    //          inventory's lock as well, from the product's current quantities, so the last update wins.
+    //          (A change that does not cross the threshold cannot change whether the product is low stock,
+    //          and setThreshold writes the new threshold before it recomputes the low-stock products.)
+    void stockChanged(Product product, int availableBefore, int availableAfter) {
+        int percent = threshold;
+        int maximum = product.getQuantityMaximum();
+        synchronized (product) {
+            if (product.getInventory() != this) {
+                return; // removed while it was being sold
+            }
+            if (isLowStock(availableBefore, maximum, percent) != isLowStock(availableAfter, maximum, percent)) {
+                synchronized (lowStockProducts) {
+                    updateLowStock(product);
+                }
+            }
+            long stock = product.getStock();
+            for (InventoryObserver o : observers) {
+                o.stockChanged(product, Product.available(stock), Product.sold(stock));
             }
         }
-        return lowStockProducts;
     }
 
+    // MODIFIES: this
+    // EFFECTS: adds or removes given product from the low-stock products, from its current quantities, unless it
+    //          is no longer in this inventory. Caller must hold the lock on lowStockProducts
+    private void updateLowStock(Product product) {
+        if (product.getInventory() != this) {
+            return;
+        }
+        if (isLowStock(product.getQuantityAvailable(), product.getQuantityMaximum())) {
+            lowStockProducts.add(product);
+        } else {
+            lowStockProducts.remove(product);
+        }
+    }
+
+    // REQUIRES: unitsSold >= 0
+    // MODIFIES: the product with the given name
+    // EFFECTS: sells the given number of units of the product with the given name, as Product.sell does, and
+    //          returns true, or returns false if it does not have enough units available.
+    //          Throws IllegalArgumentException if there is no such product
+    @Override
+    public boolean sell(String productName, int unitsSold) {
+        return require(productName).sell(unitsSold);
+    }
+
+    // MODIFIES: the product with the given name
+    // EFFECTS: restocks the product with the given name to its maximum quantity, as Product.restock does, and
+    //          returns what it cost. Throws IllegalArgumentException if there is no such product
+    @Override
+    public double restock(String productName) {
+        return require(productName).restock(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the product with the given name, loading it if it is a saved product that was not loaded
+    //          yet. Throws IllegalArgumentException if there is none
+    private Product require(String productName) {
+        Product p = findProduct(productName);
+        if (p == null) {
+            throw new IllegalArgumentException("No product named " + productName);
+        }
+        return p;
+    }
+
+    // REQUIRES: every quantity in basket is >= 0
+    // MODIFIES: this, the products in basket
+    // EFFECTS: sells the given quantity of every product named in basket: if any product cannot be found or
+    //          does not have enough units available, nothing is sold and returns false. Otherwise sells
+    //          everything, logs a PRODUCT_SOLD event for each product in the basket and returns true.
+    //          Not isolated from other threads: the units are taken one product at a time, so while a basket
+    //          is being sold another thread may see some of its products already taken, and a sale there can
+    //          fail for lack of units that are then given back if a later product runs out. A product
+    //          restocked while its units were taken keeps the restocked quantities, capped at its maximum.
+    public boolean sellBasket(Map<String, Integer> basket) {
+        Product[] lines = new Product[basket.size()];
+        int[] quantities = new int[basket.size()];
+        int line = 0;
+        for (Map.Entry<String, Integer> entry : basket.entrySet()) {
+            lines[line] = findProduct(entry.getKey());
+            quantities[line] = entry.getValue();
+            if (lines[line] == null || quantities[line] > lines[line].getQuantityAvailable()) {
+                return false;
+            }
+            line++;
+        }
+        long[] before = takeAllUnits(lines, quantities);
+        if (before == null) {
+            return false;
+        }
+        for (line = 0; line < lines.length; line++) {
+            int available = Product.available(before[line]);
+            stockChanged(lines[line], available, available - quantities[line]);
+            EventLog.getInstance().record(EventType.PRODUCT_SOLD, lines[line].getId());
+        }
+        return true;
+    }
+
+    // MODIFIES: the given products
+    // EFFECTS: takes the given quantity of units from each product and returns each product's packed quantities
+    //          from just before. If some product runs out because of a sale on another thread since it was
+    //          checked, gives back the units already taken and returns null.
+    private long[] takeAllUnits(Product[] lines, int[] quantities) {
+        long[] before = new long[lines.length];
+        for (int line = 0; line < lines.length; line++) {
+            before[line] = lines[line].take(quantities[line]);
+            if (before[line] < 0) {
+                for (int taken = 0; taken < line; taken++) {
+                    lines[taken].returnUnits(quantities[taken]);
+                }
+                return null;
+            }
+        }
+        return before;
+    }
+
+    // EFFECTS: returns true if the available quantity is at or below threshold percent
+    //          of the maximum quantity. Uses integer arithmetic so no rounding can occur.
+    public boolean isLowStock(int quantityAvailable, int quantityMaximum) {
+        return isLowStock(quantityAvailable, quantityMaximum, threshold);
+    }
+
+    // EFFECTS: returns true if the available quantity is at or below given percent of the maximum quantity
+    private static boolean isLowStock(int quantityAvailable, int quantityMaximum, int percent) {
+        return (long) quantityAvailable * 100 <= (long) percent * quantityMaximum;
+    }
+
+    // REQUIRES: topN >= 0
+    // EFFECTS: returns what it costs to restock the whole inventory, with the topN products that cost the
+    //          most to restock. Inventories of at least PARALLEL_REPORT_MIN_PRODUCTS products are summed
+    //          on all cores.
+    public RestockReport restockReport(int topN) {
+        List<Product> all = getProducts();
+        return RestockReport.of(all, threshold, topN, all.size() >= PARALLEL_REPORT_MIN_PRODUCTS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the search index of the product names, which stays up to date as products are added and
+    //          removed. The index is built the first time it is asked for, from the names alone, so no saved
+    //          product is loaded for it
+    public ProductSearchIndex getSearchIndex() {
+        synchronized (lowStockProducts) {
+            if (searchIndex == null) {
+                searchIndex = new ProductSearchIndex(productNames());
+                observers.add(searchIndex);
+            }
+            return searchIndex;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the products ordered by how full their stock is, which stays up to date as products are
+    //          added, removed, sold and restocked. The queue is built the first time it is asked for
+    public StockLevelQueue getStockLevelQueue() {
+        synchronized (lowStockProducts) {
+            if (stockLevelQueue == null) {
+                stockLevelQueue = new StockLevelQueue(getProducts());
+                observers.add(stockLevelQueue);
+            }
+            return stockLevelQueue;
+        }
+    }
+
+    // MODIFIES: this
     // EFFECTS: returns the product with the given name. If no product can be found, return null.
+    //          Loads the product if it is a saved product that was not loaded yet.
+    @Override
     public Product findProduct(String productName) {
-        for (Product p: products) {
-            if (p.getName().equals(productName)) {
-                return p;
+        SavedProducts notLoaded = saved; // read before products, which has every saved product before saved is cleared
+        Product p = products.get(productName);
+        if (p != null || notLoaded == null) {
+            return p;
+        }
+        synchronized (lowStockProducts) {
+            p = products.get(productName);
+            if (p == null && saved != null) {
+                p = saved.find(productName);
+                adopt(p);
             }
+            return p;
         }
-        return null;
+    }
+
+    // MODIFIES: this, p
+    // EFFECTS: makes a product that was just loaded from the save part of this inventory, unless p is null or
+    //          already part of it. Does not log an event or tell the observers, since nothing changed.
+    //          Caller must hold the lock on lowStockProducts
+    private void adopt(Product p) {
+        if (p == null || p.getInventory() == this) {
+            return;
+        }
+        p.setInventory(this);
+        if (isLowStock(p.getQuantityAvailable(), p.getQuantityMaximum())) {
+            lowStockProducts.add(p);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads the saved products that were not loaded yet and are low stock, finding them from their saved
+    //          quantities alone. Caller must hold the lock on lowStockProducts
+    private void loadLowStockSaved() {
+        SavedProducts notLoaded = saved;
+        if (notLoaded == null) {
+            return;
+        }
+        for (int index = 0; index < notLoaded.size(); index++) {
+            if (notLoaded.isUnloaded(index) && isLowStock(notLoaded.availableOf(index), notLoaded.maximumOf(index))) {
+                adopt(notLoaded.get(index));
+            }
+        }
+    }
+
+    // EFFECTS: returns the products that were loaded, including the saved products loaded so far.
+    //          Caller must hold the lock on lowStockProducts
+    private List<Product> loadedProducts() {
+        SavedProducts notLoaded = saved;
+        if (notLoaded == null) {
+            return productList.list();
+        }
+        List<Product> loaded = notLoaded.loadedProducts();
+        loaded.addAll(productList.list());
+        return loaded;
+    }
+
+    // EFFECTS: returns the names of all the products, reading the names of saved products that were not loaded
+    //          yet from the save without loading them. Caller must hold the lock on lowStockProducts
+    private List<String> productNames() {
+        List<String> names = new ArrayList<>();
+        SavedProducts notLoaded = saved;
+        for (int index = 0; notLoaded != null && index < notLoaded.size(); index++) {
+            String name = notLoaded.nameOf(index);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        for (Product p : productList.list()) {
+            names.add(p.getName());
+        }
+        return names;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads every saved product that was not loaded yet, and puts them all (in save order) before the
+    //          products added since the save. Does nothing if there are no saved products left.
+    //          Caller must hold the lock on lowStockProducts
+    private void loadAllSaved() {
+        SavedProducts notLoaded = saved;
+        if (notLoaded == null) {
+            return;
+        }
+        List<Product> first = new ArrayList<>(notLoaded.size());
+        for (int index = 0; index < notLoaded.size(); index++) {
+            Product p = notLoaded.get(index);
+            if (p != null) {
+                adopt(p);
+                products.put(p.getName(), p);
+                first.add(p);
+            }
+        }
+        productList.addFirst(first);
+        saved = null;
     }
 
     // EFFECTS: Turns all the inventory's products into a string. If there are no products, returns a string
@@ -75,13 +470,14 @@ public class Inventory implements Writable {
     @Override
     public String toString() {
         StringBuilder listOfProducts = new StringBuilder();
+        List<Product> products = getProducts();
         if (products.isEmpty()) {
             return "There are no products in the inventory.";
         }
 //        listOfProducts.append("The products in the inventory are:\n");
         for (Product p: products) {
-            listOfProducts.append(p.getName() + " has " + p.getQuantityAvailable() + "/" + p.getQuantityMaximum()
-                    + " units left.\n");
+            listOfProducts.append(p.getName()).append(" has ").append(p.getQuantityAvailable()).append('/')
+                    .append(p.getQuantityMaximum()).append(" units left.\n");
         }
         return listOfProducts.toString();
     }
@@ -100,7 +496,7 @@ public class Inventory implements Writable {
     private JSONArray productsToJson() {
         JSONArray jsonArray = new JSONArray();
 
-        for (Product p: products) {
+        for (Product p: getProducts()) {
             jsonArray.put(p.toJson());
         }
         return jsonArray;
@@ -109,11 +505,30 @@ public class Inventory implements Writable {
 
 
     // getters
+    @Override
     public int getThreshold() {
         return threshold;
     }
 
+    // EFFECTS: returns a read-only list of the products in the order they were added, which never changes
+    //          afterwards. Takes no lock, and copies the products only if one was added or removed since the last
+    //          call, except that the first call on an inventory made from a save loads every saved product that was
+    //          not loaded yet.
+    @Override
     public List<Product> getProducts() {
-        return products;
+        if (saved != null) {
+            synchronized (lowStockProducts) {
+                loadAllSaved();
+            }
+        }
+        return productList.list();
+    }
+
+    // EFFECTS: returns a view of the threshold and the products as they are now. Safe to call from any thread.
+    //          The view's product list never changes afterwards (adding or removing products only changes the
+    //          lists made after it), but the products' quantities are read when the view is used.
+    @Override
+    public InventoryView view() {
+        return new InventoryView(threshold, getProducts());
     }
 }
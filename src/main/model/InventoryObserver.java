@@ -0,0 +1,22 @@
+package model;
+
+// Something that wants to hear about every change made to an inventory (Observer Design Pattern).
+// The inventory calls these methods right after the change, while holding the lock of the product changed,
+// with the product's quantities as they are at that moment. Calls about the same product therefore arrive one
+// at a time and in the order the changes happened, but calls about different products (or about a product and
+// the threshold) may arrive at the same time from different threads. Implementations must be thread-safe,
+// and must return quickly without calling back into the inventory.
+public interface InventoryObserver {
+
+    // EFFECTS: called after product was added to the inventory with the given quantities
+    void productAdded(Product product, int quantityAvailable, int quantitySold);
+
+    // EFFECTS: called after product was removed from the inventory
+    void productRemoved(Product product);
+
+    // EFFECTS: called after product was sold or restocked, with its quantities after the change
+    void stockChanged(Product product, int quantityAvailable, int quantitySold);
+
+    // EFFECTS: called after the inventory's low stock threshold was changed to given value
+    void thresholdChanged(int threshold);
+}
@@ -0,0 +1,27 @@
+package model;
+
+import java.util.List;
+
+// A read-only view of an inventory at one moment, made by Inventory.view: its threshold, and the products
+// that were in it, in order. Products added to or removed from the inventory later do not show up in the
+// view; the quantities of the products in it are their current ones.
+public class InventoryView {
+    private final int threshold;
+    private final List<Product> products;
+
+    // REQUIRES: products is never modified
+    // EFFECTS: constructs a view with given threshold and products
+    InventoryView(int threshold, List<Product> products) {
+        this.threshold = threshold;
+        this.products = products;
+    }
+
+    // getters
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+}
@@ -3,14 +3,25 @@ package model;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 // Represents a product in a store with a name, maximum capacity, quantity available
 // to be sold, quantity of product already sold, and the cost to restock one unit of product.
+// The available and sold quantities are packed into one AtomicLong (available in the high 32 bits,
+// sold in the low 32 bits), so several threads can sell and restock the same product safely:
+// each change to both quantities happens in a single compare-and-set.
 public class Product implements Writable {
+    private static final AtomicInteger nextId = new AtomicInteger(); // id that the next product will get
+
+    private final int id; // number that identifies this product in the EventLog
     private final String name; // name of product
     private final int quantityMaximum; // number of units of product when full
-    private int quantityAvailable; // quantity of product available in the store
-    private int quantitySold; // number of units of product sold
+    private final AtomicLong stock; // quantity available to be sold and number of units sold, packed together
     private double cost; // price to restock one unit of product, in dollars
+    private volatile Inventory inventory; // the inventory this product is in, or null if it is in none
+    private long position; // where this product comes in the order of its inventory's products, set by the inventory
+    private int slot; // index of this product in its inventory's ProductSlots, set by the inventory
 
     // REQUIRES: quantityOrdered > 0, cost > 0
     // EFFECTS: constructs a product with given name and per-unit price from manufacturer.
@@ -18,37 +29,165 @@ public class Product implements Writable {
     //          units of product have been sold yet. The quantity of units of product
     //          ordered is the maximum amount of stock the store can carry of that product.
     public Product(String name, int quantityOrdered, double cost) {
+        this.id = nextId.getAndIncrement();
         this.name = name;
         this.quantityMaximum = quantityOrdered;
-        this.quantityAvailable = quantityOrdered;
-        this.quantitySold = 0;
+        this.stock = new AtomicLong(pack(quantityOrdered, 0));
+        this.cost = cost;
+    }
+
+    // REQUIRES: quantityMaximum > 0, 0 <= quantityAvailable <= quantityMaximum, quantitySold >= 0, cost > 0
+    // EFFECTS: constructs a product with the quantities it had when it was saved, without logging an event.
+    //          Used when an inventory is recreated from a save file.
+    public Product(String name, int quantityMaximum, int quantityAvailable, int quantitySold, double cost) {
+        this.id = nextId.getAndIncrement();
+        this.name = name;
+        this.quantityMaximum = quantityMaximum;
+        this.stock = new AtomicLong(pack(quantityAvailable, quantitySold));
         this.cost = cost;
     }
 
-    // REQUIRES: unitsSold <= quantityAvailable
+    // REQUIRES: unitsSold >= 0
     // MODIFIES: this
-    // EFFECTS: deducts the units of product sold from the available quantity,
-    //          and adds it to the quantity sold
-    //          Additionally, logs the event into EventLog
-    public void sell(int unitsSold) {
-        this.quantityAvailable = quantityAvailable - unitsSold;
-        this.quantitySold = quantitySold + unitsSold;
-        EventLog.getInstance().logEvent(new Event("Product sold"));
+    // EFFECTS: if unitsSold <= quantityAvailable, deducts the units of product sold from the available
+    //          quantity, adds it to the quantity sold, logs the event into EventLog and returns true.
+    //          Otherwise nothing changes and returns false. Checking and selling happen in one atomic step,
+    //          so two threads can never sell the same units.
+    public boolean sell(int unitsSold) {
+        long before = take(unitsSold);
+        if (before < 0) {
+            return false;
+        }
+        notifyInventory(available(before), available(before) - unitsSold);
+        EventLog.getInstance().record(EventType.PRODUCT_SOLD, id);
+        return true;
+    }
+
+    // REQUIRES: units >= 0
+    // MODIFIES: this
+    // EFFECTS: same as sell, but does not tell the inventory or log the event. Used by Inventory.sellBasket,
+    //          which does both once every product in the basket has been taken.
+    boolean takeUnits(int units) {
+        return take(units) >= 0;
+    }
+
+    // REQUIRES: units >= 0
+    // MODIFIES: this
+    // EFFECTS: same as takeUnits, but returns the packed quantities from just before the units were taken,
+    //          or -1 if there were not enough units available
+    long take(int units) {
+        long current;
+        do {
+            current = stock.get();
+            if (units > available(current)) {
+                return -1;
+            }
+        } while (!stock.compareAndSet(current, pack(available(current) - units, sold(current) + units)));
+        return current;
+    }
+
+    // REQUIRES: units >= 0
+    // MODIFIES: this
+    // EFFECTS: undoes takeUnits(units) by moving the units from sold back to available. If the product was
+    //          restocked in the meantime, the quantities are capped so they stay between 0 and the maximum.
+    //          Tells the inventory, since sales on other threads may have seen the units taken.
+    void returnUnits(int units) {
+        long current;
+        long returned;
+        do {
+            current = stock.get();
+            returned = pack(Math.min(quantityMaximum, available(current) + units), Math.max(0, sold(current) - units));
+        } while (!stock.compareAndSet(current, returned));
+        notifyInventory(available(current), available(returned));
+    }
+
+    // REQUIRES: 0 <= quantityAvailable <= quantityMaximum, quantitySold >= 0
+    // MODIFIES: this
+    // EFFECTS: sets the available and sold quantities to ones that were saved earlier, without logging an event.
+    //          Used when an inventory is recreated from a save file or journal.
+    public void restore(int quantityAvailable, int quantitySold) {
+        long before = stock.getAndSet(pack(quantityAvailable, quantitySold));
+        notifyInventory(available(before), quantityAvailable);
     }
 
     // MODIFIES: this
     // EFFECTS: outputs the cost to restock the product to maximum quantity. If restockingEnabled
     //          is true, then also restock the product to maximum quantity, set available
-    //          quantity to maximum quantity, and reset quantity sold back to 0.
+    //          quantity to maximum quantity, and reset quantity sold back to 0, in one atomic step
+    //          (the cost is for exactly the units that were sold before the reset).
     //          Additionally, logs the event into EventLog
     public double restock(Boolean restockingEnabled) {
-        double costToRestock = quantitySold * cost;
-        if (restockingEnabled) {
-            this.quantityAvailable = quantityMaximum;
-            this.quantitySold = 0;
-            EventLog.getInstance().logEvent(new Event("Product restocked"));
+        if (!restockingEnabled) {
+            return sold(stock.get()) * cost;
+        }
+        long before = stock.getAndSet(pack(quantityMaximum, 0));
+        notifyInventory(available(before), quantityMaximum);
+        EventLog.getInstance().record(EventType.PRODUCT_RESTOCKED, id);
+        return sold(before) * cost;
+    }
+
+    // EFFECTS: returns the available and sold quantities packed into one long
+    private static long pack(int available, int sold) {
+        return ((long) available << 32) | (sold & 0xFFFFFFFFL);
+    }
+
+    // EFFECTS: returns the available quantity in the packed stock value
+    public static int available(long stock) {
+        return (int) (stock >> 32);
+    }
+
+    // EFFECTS: returns the sold quantity in the packed stock value
+    public static int sold(long stock) {
+        return (int) stock;
+    }
+
+    // EFFECTS: returns the available and sold quantities packed into one long, read in a single step, so they are
+    //          a pair the product really had even while it is being sold on other threads. Unpack them with
+    //          available and sold
+    public long getStock() {
+        return stock.get();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the inventory that this product is in (null if it was removed from its inventory)
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    // EFFECTS: returns the inventory this product is in, or null if it is in none
+    Inventory getInventory() {
+        return inventory;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets where this product comes in the order of its inventory's products
+    void setPosition(long position) {
+        this.position = position;
+    }
+
+    // EFFECTS: returns where this product comes in the order of its inventory's products
+    long getPosition() {
+        return position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the index of this product in its inventory's ProductSlots
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    // EFFECTS: returns the index of this product in its inventory's ProductSlots
+    int getSlot() {
+        return slot;
+    }
+
+    // EFFECTS: tells the inventory this product is in (if any) that its available quantity changed from
+    //          availableBefore to availableAfter
+    private void notifyInventory(int availableBefore, int availableAfter) {
+        Inventory current = inventory;
+        if (current != null) {
+            current.stockChanged(this, availableBefore, availableAfter);
         }
-        return costToRestock;
     }
 
     // EFFECTS: converts the product's data into JSON
@@ -57,13 +196,18 @@ public class Product implements Writable {
         JSONObject json = new JSONObject();
         json.put("name", name);
         json.put("quantityMaximum", quantityMaximum);
-        json.put("quantityAvailable", quantityAvailable);
-        json.put("quantitySold", quantitySold);
+        long current = stock.get();
+        json.put("quantityAvailable", available(current));
+        json.put("quantitySold", sold(current));
         json.put("cost", cost);
         return json;
     }
 
     // getters
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -73,11 +217,11 @@ public class Product implements Writable {
     }
 
     public int getQuantityAvailable() {
-        return quantityAvailable;
+        return available(stock.get());
     }
 
     public int getQuantitySold() {
-        return quantitySold;
+        return sold(stock.get());
     }
 
     public double getCost() {
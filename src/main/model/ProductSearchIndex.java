@@ -0,0 +1,269 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// A search index over the product names of an inventory, for type-ahead: finds the names starting with what was
+// typed so far, and names that are close to it even if it has typos. Case is ignored.
+// Names starting with a prefix come from a sorted map of names, so they are found in O(log n + k).
+// Similar names come from an index of the trigrams (runs of three characters) of every name: names sharing the
+// most trigrams with the query are the candidates, and the candidates are ranked by how similar their trigram
+// sets are. Common trigrams are shared by so many names that they say little, so only the rarest trigrams of a
+// query are followed, up to a fixed number of names, which keeps a search fast however large the catalog is.
+// The index follows the inventory's changes as an InventoryObserver; see Inventory.getSearchIndex.
+public class ProductSearchIndex implements InventoryObserver {
+    private static final char SEPARATOR = '\0'; // between the lowercase name and the name in a sorted key
+    private static final int MAX_POSTINGS = 20000; // most names counted for one similarity search
+    private static final int MAX_CANDIDATES = 100; // most names ranked for one similarity search
+
+    private final TreeMap<String, String> sorted; // "lowercase name SEPARATOR name" -> name
+    private final Map<String, Integer> ids; // name -> its number in names
+    private final List<String> names; // names by number, null for removed names
+    private final Map<Long, int[]> postings; // trigram -> numbers of the names that have it, and their count
+    private int removed; // number of removed names that are still in the postings
+    private int[] shared = new int[0]; // scratch space for a similarity search: trigrams shared, by name number
+
+    // EFFECTS: constructs an index of given product names
+    public ProductSearchIndex(Collection<String> productNames) {
+        sorted = new TreeMap<>();
+        ids = new HashMap<>();
+        names = new ArrayList<>(productNames.size());
+        postings = new HashMap<>();
+        for (String name : productNames) {
+            add(name);
+        }
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns up to limit names that start with prefix (ignoring case), in alphabetical order
+    public synchronized List<String> startingWith(String prefix, int limit) {
+        String from = normalize(prefix);
+        List<String> found = new ArrayList<>(Math.min(limit, 16));
+        for (String name : sorted.tailMap(from).values()) {
+            if (found.size() == limit || !normalize(name).startsWith(from)) {
+                break;
+            }
+            found.add(name);
+        }
+        return found;
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns up to limit names that share trigrams with query, most similar first. A name is more similar
+    //          the larger the share of their trigrams the two have in common, so small typos still match
+    public synchronized List<String> similarTo(String query, int limit) {
+        long[] queryGrams = trigrams(normalize(query));
+        List<Integer> candidates = mostShared(queryGrams);
+        Map<Integer, Double> similarity = new HashMap<>();
+        for (int id : candidates) {
+            similarity.put(id, similarity(queryGrams, trigrams(normalize(names.get(id)))));
+        }
+        candidates.sort((a, b) -> Double.compare(similarity.get(b), similarity.get(a)));
+        List<String> found = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int i = 0; i < limit && i < candidates.size(); i++) {
+            found.add(names.get(candidates.get(i)));
+        }
+        return found;
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns up to limit suggestions for what was typed: the names starting with it, followed by the
+    //          names most similar to it
+    public List<String> suggest(String typed, int limit) {
+        Set<String> suggestions = new LinkedHashSet<>(startingWith(typed, limit));
+        if (suggestions.size() < limit) {
+            for (String name : similarTo(typed, limit)) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                suggestions.add(name);
+            }
+        }
+        return new ArrayList<>(suggestions);
+    }
+
+    // EFFECTS: returns the number of names in the index
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    @Override
+    public synchronized void productAdded(Product product, int quantityAvailable, int quantitySold) {
+        add(product.getName());
+    }
+
+    @Override
+    public synchronized void productRemoved(Product product) {
+        Integer id = ids.remove(product.getName());
+        if (id == null) {
+            return;
+        }
+        sorted.remove(sortKey(product.getName()));
+        names.set(id, null);
+        removed++;
+        if (removed > ids.size()) {
+            rebuildPostings();
+        }
+    }
+
+    @Override
+    public void stockChanged(Product product, int quantityAvailable, int quantitySold) {
+        // names do not change when stock does
+    }
+
+    @Override
+    public void thresholdChanged(int threshold) {
+        // names do not change with the threshold
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds name to the sorted names and to the postings of its trigrams. Does nothing if it is indexed
+    private void add(String name) {
+        if (ids.containsKey(name)) {
+            return;
+        }
+        int id = names.size();
+        names.add(name);
+        ids.put(name, id);
+        sorted.put(sortKey(name), name);
+        addPostings(name, id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds name number id to the postings of each of its trigrams
+    private void addPostings(String name, int id) {
+        for (long gram : trigrams(normalize(name))) {
+            int[] list = postings.get(gram);
+            if (list == null) {
+                list = new int[4];
+                postings.put(gram, list);
+            } else if (list[0] + 1 == list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+                postings.put(gram, list);
+            }
+            list[++list[0]] = id;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rebuilds the postings and renumbers the names, leaving out removed names
+    private void rebuildPostings() {
+        List<String> kept = new ArrayList<>(ids.keySet().size());
+        for (String name : names) {
+            if (name != null) {
+                kept.add(name);
+            }
+        }
+        names.clear();
+        ids.clear();
+        postings.clear();
+        removed = 0;
+        for (String name : kept) {
+            ids.put(name, names.size());
+            names.add(name);
+            addPostings(name, ids.get(name));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts, for each name, how many of the query's trigrams it has, following the rarest trigrams first
+    //          and stopping after MAX_POSTINGS postings were counted, and returns up to MAX_CANDIDATES of the names
+    //          that have the most. Removed names are left out
+    private List<Integer> mostShared(long[] queryGrams) {
+        List<int[]> lists = new ArrayList<>(queryGrams.length);
+        for (long gram : queryGrams) {
+            int[] list = postings.get(gram);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        lists.sort((a, b) -> Integer.compare(a[0], b[0]));
+        if (shared.length < names.size()) {
+            shared = new int[Math.max(names.size(), shared.length * 2)];
+        }
+        int[] counted = new int[MAX_POSTINGS]; // names counted, in the order they were first counted
+        int touched = 0;
+        int visited = 0;
+        for (int[] list : lists) {
+            for (int i = 1; i <= list[0] && visited < MAX_POSTINGS; i++, visited++) {
+                if (shared[list[i]]++ == 0) {
+                    counted[touched++] = list[i];
+                }
+            }
+        }
+        return takeMostShared(counted, touched, queryGrams.length);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns up to MAX_CANDIDATES of the first touched names in counted that were not removed, most shared
+    //          trigrams first, given the most trigrams a name can share. Clears the counts for the next search
+    private List<Integer> takeMostShared(int[] counted, int touched, int most) {
+        int[] withCount = new int[most + 2];
+        for (int i = 0; i < touched; i++) {
+            withCount[most - Math.min(shared[counted[i]], most) + 1]++;
+        }
+        for (int count = 1; count < withCount.length; count++) {
+            withCount[count] += withCount[count - 1];
+        }
+        int[] ordered = new int[touched];
+        for (int i = 0; i < touched; i++) {
+            ordered[withCount[most - Math.min(shared[counted[i]], most)]++] = counted[i];
+        }
+        List<Integer> candidates = new ArrayList<>(MAX_CANDIDATES);
+        for (int i = 0; i < touched && candidates.size() < MAX_CANDIDATES; i++) {
+            if (names.get(ordered[i]) != null) {
+                candidates.add(ordered[i]);
+            }
+        }
+        for (int i = 0; i < touched; i++) {
+            shared[counted[i]] = 0;
+        }
+        return candidates;
+    }
+
+    // EFFECTS: returns the share of the two sets of trigrams that both have (their Jaccard similarity)
+    private static double similarity(long[] a, long[] b) {
+        int common = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common / (double) (a.length + b.length - common);
+    }
+
+    // EFFECTS: returns the distinct trigrams of text padded with a space on each side, in increasing order.
+    //          Each trigram is its three characters packed into one number
+    static long[] trigrams(String text) {
+        String padded = " " + text + " ";
+        long[] grams = new long[Math.max(0, padded.length() - 2)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    // EFFECTS: returns the key of name in the sorted names
+    private static String sortKey(String name) {
+        return normalize(name) + SEPARATOR + name;
+    }
+
+    // EFFECTS: returns text in lowercase, the way names and queries are compared
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
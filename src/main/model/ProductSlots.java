@@ -0,0 +1,139 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// The products of an inventory in the order they were added. Adding a product puts it in the next free slot of an
+// array and removing one only clears its slot, so both take constant time; the array is only replaced when it is
+// full (by one twice the number of products) or mostly cleared (by one half as big), which is constant time on
+// average. Slots are changed only while the inventory's lock is held, and an array that was replaced is never
+// written again, so list() needs no lock: it copies the products out of the slots as of the last change, and keeps
+// that copy until the next change. Only the one asking for the list pays for the copy, and only after a change.
+class ProductSlots {
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Slots current; // the slots as of the last change
+    private volatile Copy copy; // the list last copied out of the slots, or null if none was asked for yet
+
+    // EFFECTS: constructs slots holding no products
+    ProductSlots() {
+        current = new Slots(new Product[MIN_CAPACITY], 0, 0);
+    }
+
+    // REQUIRES: product is not in these slots; caller holds the inventory's lock
+    // MODIFIES: this, product
+    // EFFECTS: puts product after every product in the slots
+    void add(Product product) {
+        Slots s = current;
+        if (s.end == s.array.length) {
+            s = resized(s);
+        }
+        product.setSlot(s.end);
+        s.array[s.end] = product;
+        current = new Slots(s.array, s.end + 1, s.size + 1);
+    }
+
+    // REQUIRES: none of first are in these slots; caller holds the inventory's lock
+    // MODIFIES: this, first
+    // EFFECTS: puts the products of first, in order, before every product in the slots
+    void addFirst(List<Product> first) {
+        Slots s = current;
+        Product[] array = new Product[Math.max(MIN_CAPACITY, 2 * (first.size() + s.size))];
+        int end = 0;
+        for (Product p : first) {
+            p.setSlot(end);
+            array[end++] = p;
+        }
+        current = moveInto(s, array, end);
+    }
+
+    // REQUIRES: caller holds the inventory's lock
+    // MODIFIES: this
+    // EFFECTS: clears the slot of given product, if it is in these slots
+    void remove(Product product) {
+        Slots s = current;
+        int slot = product.getSlot();
+        if (slot >= s.end || s.array[slot] != product) {
+            return;
+        }
+        s.array[slot] = null;
+        s = new Slots(s.array, s.end, s.size - 1);
+        current = s.array.length > MIN_CAPACITY && s.size < s.array.length / 4 ? resized(s) : s;
+    }
+
+    // EFFECTS: returns how many products are in the slots
+    int size() {
+        return current.size;
+    }
+
+    // EFFECTS: returns a read-only list of the products in order, which never changes afterwards. Copies the
+    //          products out of the slots only if they changed since the last list was made. Takes no lock; a
+    //          product being removed at the same time may or may not be in the list
+    List<Product> list() {
+        Slots s = current;
+        Copy c = copy;
+        if (c != null && c.slots == s) {
+            return c.list;
+        }
+        Product[] products = new Product[s.size];
+        int n = 0;
+        for (int slot = 0; slot < s.end && n < products.length; slot++) {
+            Product p = s.array[slot];
+            if (p != null) {
+                products[n++] = p;
+            }
+        }
+        List<Product> list = Collections.unmodifiableList(Arrays.asList(n == products.length
+                ? products : Arrays.copyOf(products, n)));
+        copy = new Copy(s, list);
+        return list;
+    }
+
+    // MODIFIES: the products in s
+    // EFFECTS: returns slots with the products of s moved to the start of a new array, with room for twice as many
+    //          products as there are (and at least MIN_CAPACITY)
+    private static Slots resized(Slots s) {
+        return moveInto(s, new Product[Math.max(MIN_CAPACITY, 2 * s.size)], 0);
+    }
+
+    // REQUIRES: array has room for the products of s after index end
+    // MODIFIES: array, the products in s
+    // EFFECTS: copies the products of s, in order, into array after index end and returns the new slots
+    private static Slots moveInto(Slots s, Product[] array, int end) {
+        int first = end;
+        for (int slot = 0; slot < s.end; slot++) {
+            Product p = s.array[slot];
+            if (p != null) {
+                p.setSlot(end);
+                array[end++] = p;
+            }
+        }
+        return new Slots(array, end, s.size + first);
+    }
+
+    // The slots as of one change: the array holding them, the end of the slots used so far (some of which may be
+    // cleared), and how many products are in them
+    private static final class Slots {
+        private final Product[] array;
+        private final int end;
+        private final int size;
+
+        private Slots(Product[] array, int end, int size) {
+            this.array = array;
+            this.end = end;
+            this.size = size;
+        }
+    }
+
+    // A list copied out of the slots, with the slots it was copied from
+    private static final class Copy {
+        private final Slots slots;
+        private final List<Product> list;
+
+        private Copy(Slots slots, List<Product> list) {
+            this.slots = slots;
+            this.list = list;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package model;
+
+// The products of a save that an inventory can load one at a time, when they are first needed,
+// instead of all at once (see Inventory(ProductSource, int)). Products are numbered from 0 in save order.
+public interface ProductSource {
+
+    // EFFECTS: returns the number of products in the save
+    int size();
+
+    // EFFECTS: returns the number of the product with given name, or -1 if there is none
+    int indexOf(String name);
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the saved name of the product with given number, without loading the product
+    String nameOf(int index);
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the saved available quantity of the product with given number, without loading the product
+    int availableOf(int index);
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the saved maximum quantity of the product with given number, without loading the product
+    int maximumOf(int index);
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns a new product (in no inventory) with the saved information of the product with given number
+    Product load(int index);
+}
@@ -0,0 +1,128 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Represents what it costs to restock a whole inventory: the total cost, the products that cost the most
+// to restock, and the cost split between products that are low stock and those that are not.
+// Computing a report sums the products on all cores when asked to run in parallel, and on the calling
+// thread otherwise. Both give the same products in the same order; totals may differ in the last bits
+// because the costs are added in a different order.
+public class RestockReport {
+    private final double totalCost;
+    private final double lowStockCost;
+    private final int lowStockCount;
+    private final List<Product> mostExpensive;
+    private final double[] mostExpensiveCosts;
+
+    // EFFECTS: constructs a report from the combined result of summing every product
+    private RestockReport(Partial sums) {
+        this.totalCost = sums.totalCost;
+        this.lowStockCost = sums.lowStockCost;
+        this.lowStockCount = sums.lowStockCount;
+        this.mostExpensive = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(sums.top, sums.topSize)));
+        this.mostExpensiveCosts = Arrays.copyOf(sums.topCosts, sums.topSize);
+    }
+
+    // REQUIRES: topN >= 0, 0 < threshold < 100
+    // EFFECTS: returns the restock report for given products, keeping the topN products that cost the most
+    //          to restock and using threshold to decide which products are low stock. Runs on the common
+    //          fork-join pool if parallel is true, and on the calling thread otherwise.
+    public static RestockReport of(List<Product> products, int threshold, int topN, boolean parallel) {
+        Stream<Product> stream = parallel ? products.parallelStream() : products.stream();
+        Partial sums = stream.collect(() -> new Partial(threshold, topN), Partial::add, Partial::addAll);
+        return new RestockReport(sums);
+    }
+
+    // getters
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public double getLowStockCost() {
+        return lowStockCost;
+    }
+
+    // EFFECTS: returns the cost to restock the products that are not low stock
+    public double getInStockCost() {
+        return totalCost - lowStockCost;
+    }
+
+    public int getLowStockCount() {
+        return lowStockCount;
+    }
+
+    // EFFECTS: returns the products that cost the most to restock, most expensive first. Products that
+    //          cost the same are in inventory order.
+    public List<Product> getMostExpensive() {
+        return mostExpensive;
+    }
+
+    // REQUIRES: 0 <= rank < getMostExpensive().size()
+    // EFFECTS: returns what it cost to restock the product at given rank when the report was made
+    public double getMostExpensiveCost(int rank) {
+        return mostExpensiveCosts[rank];
+    }
+
+    // The sums over one part of the products. The parts are summed separately (possibly on different threads)
+    // and then combined in inventory order.
+    private static final class Partial {
+        private final int threshold;
+        private double totalCost;
+        private double lowStockCost;
+        private int lowStockCount;
+        private final Product[] top; // most expensive products so far, most expensive first
+        private final double[] topCosts; // their costs, in the same order
+        private int topSize;
+
+        private Partial(int threshold, int topN) {
+            this.threshold = threshold;
+            this.top = new Product[topN];
+            this.topCosts = new double[topN];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the cost to restock given product
+        private void add(Product p) {
+            int available = p.getQuantityAvailable();
+            double cost = p.restock(false);
+            totalCost += cost;
+            if ((long) available * 100 <= (long) threshold * p.getQuantityMaximum()) {
+                lowStockCost += cost;
+                lowStockCount++;
+            }
+            offer(p, cost);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the sums of the products that come after the products summed in this
+        private void addAll(Partial other) {
+            totalCost += other.totalCost;
+            lowStockCost += other.lowStockCost;
+            lowStockCount += other.lowStockCount;
+            for (int i = 0; i < other.topSize; i++) {
+                offer(other.top[i], other.topCosts[i]);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps given product among the most expensive if it costs more than one already kept,
+        //          or if fewer than topN are kept. It goes after any kept product that costs the same.
+        private void offer(Product p, double cost) {
+            if (topSize == top.length && (topSize == 0 || cost <= topCosts[topSize - 1])) {
+                return;
+            }
+            int i = Math.min(topSize, top.length - 1);
+            while (i > 0 && topCosts[i - 1] < cost) {
+                top[i] = top[i - 1];
+                topCosts[i] = topCosts[i - 1];
+                i--;
+            }
+            top[i] = p;
+            topCosts[i] = cost;
+            topSize = Math.min(topSize + 1, top.length);
+        }
+    }
+}
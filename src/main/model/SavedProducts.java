@@ -0,0 +1,100 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The products of a save that an inventory has not taken over yet. A product is loaded from the source
+// the first time it is looked up, and is remembered so later lookups return the same Product.
+// Not thread-safe: the inventory only uses it while holding its lock.
+class SavedProducts {
+    private final ProductSource source;
+    private final Product[] loaded; // loaded products by number, null if not loaded yet
+    private final boolean[] removed; // true for products that were removed from the inventory
+
+    // EFFECTS: constructs the saved products of given source, with none loaded yet
+    SavedProducts(ProductSource source) {
+        this.source = source;
+        this.loaded = new Product[source.size()];
+        this.removed = new boolean[source.size()];
+    }
+
+    // EFFECTS: returns the number of products in the save, including removed ones
+    int size() {
+        return loaded.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the saved product with given name, loading it if it was not loaded before.
+    //          Returns null if there is no such product or it was removed
+    Product find(String name) {
+        int index = source.indexOf(name);
+        return index < 0 ? null : get(index);
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // MODIFIES: this
+    // EFFECTS: returns the saved product with given number, loading it if it was not loaded before,
+    //          or null if it was removed
+    Product get(int index) {
+        if (removed[index]) {
+            return null;
+        }
+        if (loaded[index] == null) {
+            loaded[index] = source.load(index);
+            loaded[index].setPosition(index);
+        }
+        return loaded[index];
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns true if the saved product with given number was neither loaded nor removed
+    boolean isUnloaded(int index) {
+        return loaded[index] == null && !removed[index];
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the saved name of the product with given number without loading it, or null if it was removed
+    String nameOf(int index) {
+        return removed[index] ? null : source.nameOf(index);
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the saved available quantity of the product with given number, without loading it
+    int availableOf(int index) {
+        return source.availableOf(index);
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the saved maximum quantity of the product with given number, without loading it
+    int maximumOf(int index) {
+        return source.maximumOf(index);
+    }
+
+    // EFFECTS: returns the saved products that were loaded and not removed, in save order
+    List<Product> loadedProducts() {
+        List<Product> found = new ArrayList<>();
+        for (int index = 0; index < loaded.length; index++) {
+            if (loaded[index] != null && !removed[index]) {
+                found.add(loaded[index]);
+            }
+        }
+        return found;
+    }
+
+    // EFFECTS: returns true if a product with given name is in the save and was not removed
+    boolean contains(String name) {
+        int index = source.indexOf(name);
+        return index >= 0 && !removed[index];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks given product as removed if it was loaded from the save. Returns true if it was
+    boolean remove(Product product) {
+        int index = source.indexOf(product.getName());
+        if (index < 0 || loaded[index] != product) {
+            return false;
+        }
+        removed[index] = true;
+        return true;
+    }
+}
@@ -0,0 +1,180 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// The inventories of many stores, or of one big catalog split into hash partitions: one Inventory shard each.
+// Every shard has its own writer thread, and every change to a shard is a task put in that thread's mailbox (the
+// queue of its executor), so each inventory is only ever changed by one thread and its lock is never contended.
+// Shards run independently, so a busy store never holds up another.
+// Queries over every shard (low stock, restock cost) are scattered to all the writer threads at once, which answer
+// in parallel, and the answers are gathered into one result per shard.
+// Each shard can be saved to its own file with persistence.ShardedSaves.
+public class ShardedInventory implements AutoCloseable {
+    private static final String PARTITION_PREFIX = "partition-";
+
+    private final Map<String, Shard> shards; // shards by name, in the order they were given
+    private final String[] names; // shard names in order, for picking a partition by hash
+
+    // One shard: its inventory, and the writer thread that is the only one to use it
+    private static final class Shard {
+        private final Inventory inventory;
+        private final ExecutorService writer;
+
+        // EFFECTS: constructs a shard of given inventory with a writer thread named after the shard
+        private Shard(String name, Inventory inventory) {
+            this.inventory = inventory;
+            this.writer = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "shard-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // REQUIRES: shardNames is not empty and has no duplicates
+    // EFFECTS: constructs a sharded inventory with an empty inventory for each given shard name
+    public ShardedInventory(List<String> shardNames) {
+        this(emptyInventories(shardNames));
+    }
+
+    // REQUIRES: inventories is not empty, and no inventory is used anywhere else from now on
+    // EFFECTS: constructs a sharded inventory of given inventories, keyed by shard name, in the map's order
+    public ShardedInventory(Map<String, Inventory> inventories) {
+        this.shards = new LinkedHashMap<>();
+        for (Map.Entry<String, Inventory> entry : inventories.entrySet()) {
+            shards.put(entry.getKey(), new Shard(entry.getKey(), entry.getValue()));
+        }
+        this.names = shards.keySet().toArray(new String[0]);
+    }
+
+    // REQUIRES: partitions > 0
+    // EFFECTS: returns the names of given number of hash partitions, for splitting one catalog into shards
+    public static List<String> partitionNames(int partitions) {
+        List<String> partitionNames = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            partitionNames.add(PARTITION_PREFIX + p);
+        }
+        return partitionNames;
+    }
+
+    // EFFECTS: returns the name of the shard that a product with given name belongs to when the shards are hash
+    //          partitions of one catalog. The same name always gives the same shard
+    public String partitionOf(String productName) {
+        return names[Math.floorMod(productName.hashCode(), names.length)];
+    }
+
+    // EFFECTS: returns the shard names, in order
+    public List<String> getShardNames() {
+        return List.of(names);
+    }
+
+    // EFFECTS: puts given task in the mailbox of the named shard and returns right away. The task is run on the
+    //          shard's writer thread, after every task put in before it, and the returned future completes with
+    //          its result. Throws IllegalArgumentException if there is no shard with that name
+    public <T> CompletableFuture<T> submit(String shard, Function<Inventory, T> task) {
+        Shard s = shards.get(shard);
+        if (s == null) {
+            throw new IllegalArgumentException("There is no shard named " + shard);
+        }
+        return CompletableFuture.supplyAsync(() -> task.apply(s.inventory), s.writer);
+    }
+
+    // EFFECTS: runs given query on every shard at once, each on its own writer thread, and returns a future
+    //          that completes with every shard's answer, keyed by shard name in order
+    public <T> CompletableFuture<Map<String, T>> scatter(Function<Inventory, T> query) {
+        Map<String, CompletableFuture<T>> answers = new LinkedHashMap<>();
+        for (String name : names) {
+            answers.put(name, submit(name, query));
+        }
+        return CompletableFuture.allOf(answers.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<String, T> gathered = new LinkedHashMap<>();
+            answers.forEach((name, answer) -> gathered.put(name, answer.join()));
+            return gathered;
+        });
+    }
+
+    // REQUIRES: product is not in any other inventory
+    // EFFECTS: adds given product to the named shard, as Inventory.addProduct does. The future completes
+    //          exceptionally with IllegalArgumentException if the shard already has a product with that name
+    public CompletableFuture<Void> addProduct(String shard, Product product) {
+        return submit(shard, inventory -> {
+            inventory.addProduct(product);
+            return null;
+        });
+    }
+
+    // REQUIRES: unitsSold >= 0
+    // EFFECTS: sells the given units of the named product in the named shard. The future completes with true
+    //          if they were sold, and false if the shard has no such product or not enough units of it
+    public CompletableFuture<Boolean> sell(String shard, String productName, int unitsSold) {
+        return submit(shard, inventory -> {
+            Product p = inventory.findProduct(productName);
+            return p != null && p.sell(unitsSold);
+        });
+    }
+
+    // EFFECTS: restocks the named product in the named shard to its maximum quantity. The future completes with
+    //          what the restock cost, or 0 if the shard has no such product
+    public CompletableFuture<Double> restock(String shard, String productName) {
+        return submit(shard, inventory -> {
+            Product p = inventory.findProduct(productName);
+            return p == null ? 0 : p.restock(true);
+        });
+    }
+
+    // EFFECTS: returns a future that completes with the low-stock products of every shard, keyed by shard name
+    public CompletableFuture<Map<String, List<Product>>> viewLowStockProducts() {
+        return scatter(Inventory::viewLowStockProducts);
+    }
+
+    // REQUIRES: topN >= 0
+    // EFFECTS: returns a future that completes with the restock report of every shard, keyed by shard name
+    public CompletableFuture<Map<String, RestockReport>> restockReports(int topN) {
+        return scatter(inventory -> inventory.restockReport(topN));
+    }
+
+    // EFFECTS: returns a future that completes with what it costs to restock every shard
+    public CompletableFuture<Double> totalRestockCost() {
+        return restockReports(0).thenApply(reports -> {
+            double total = 0;
+            for (RestockReport report : reports.values()) {
+                total += report.getTotalCost();
+            }
+            return total;
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: lets every writer thread finish the tasks already in its mailbox, stops them and waits for them
+    //          to finish. Tasks submitted afterwards are rejected
+    @Override
+    public void close() {
+        for (Shard s : shards.values()) {
+            s.writer.shutdown();
+        }
+        try {
+            for (Shard s : shards.values()) {
+                s.writer.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EFFECTS: returns an empty inventory for each given name, in order
+    private static Map<String, Inventory> emptyInventories(List<String> shardNames) {
+        Map<String, Inventory> inventories = new LinkedHashMap<>();
+        for (String name : shardNames) {
+            inventories.put(name, new Inventory());
+        }
+        return inventories;
+    }
+}
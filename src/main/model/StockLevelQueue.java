@@ -0,0 +1,193 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// The products of an inventory ordered by how full their stock is (quantity available / maximum quantity), for
+// restocking the most depleted products first. An indexed binary min-heap: the emptiest product is at the root,
+// and each product's place in the heap is kept in a map, so a change to its stock moves it in O(log n).
+// Finding the k most depleted products, or every product at or below a percentage, only visits the part of the
+// heap holding the answer, and works for any percentage, so changing the inventory's threshold needs no rebuild.
+// The queue follows the inventory's changes as an InventoryObserver; see Inventory.getStockLevelQueue.
+public class StockLevelQueue implements InventoryObserver {
+    private Product[] heap; // heap[0] is the most depleted product; children of i are at 2i + 1 and 2i + 2
+    private int[] available; // quantity available of the product at the same place in heap
+    private int[] maximum; // maximum quantity of the product at the same place in heap
+    private int size;
+    private final Map<Product, Integer> places; // product -> its place in heap
+
+    // EFFECTS: constructs a queue of the given products
+    public StockLevelQueue(Collection<Product> products) {
+        int capacity = Math.max(16, products.size());
+        heap = new Product[capacity];
+        available = new int[capacity];
+        maximum = new int[capacity];
+        places = new HashMap<>();
+        for (Product p : products) {
+            add(p, p.getQuantityAvailable());
+        }
+    }
+
+    // REQUIRES: k >= 0
+    // EFFECTS: returns the k most depleted products (fewer if there are not that many), most depleted first
+    public synchronized List<Product> mostDepleted(int k) {
+        List<Product> found = new ArrayList<>(Math.min(k, size));
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(this::compare);
+        if (size > 0) {
+            frontier.add(0);
+        }
+        while (found.size() < k && !frontier.isEmpty()) {
+            int place = frontier.poll();
+            found.add(heap[place]);
+            for (int child = 2 * place + 1; child <= 2 * place + 2 && child < size; child++) {
+                frontier.add(child);
+            }
+        }
+        return found;
+    }
+
+    // REQUIRES: 0 <= percent <= 100
+    // EFFECTS: returns every product whose available quantity is at or below percent of its maximum quantity,
+    //          most depleted first. Uses the same integer comparison as Inventory's low-stock check
+    public synchronized List<Product> atOrBelow(int percent) {
+        List<Integer> found = new ArrayList<>();
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        if (size > 0) {
+            toVisit.push(0);
+        }
+        while (!toVisit.isEmpty()) {
+            int place = toVisit.pop();
+            if ((long) available[place] * 100 <= (long) percent * maximum[place]) {
+                found.add(place); // children are never emptier, so a subtree is skipped once its root is too full
+                for (int child = 2 * place + 1; child <= 2 * place + 2 && child < size; child++) {
+                    toVisit.push(child);
+                }
+            }
+        }
+        found.sort(this::compare);
+        List<Product> products = new ArrayList<>(found.size());
+        for (int place : found) {
+            products.add(heap[place]);
+        }
+        return products;
+    }
+
+    // EFFECTS: returns the number of products in the queue
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void productAdded(Product product, int quantityAvailable, int quantitySold) {
+        if (!places.containsKey(product)) {
+            add(product, quantityAvailable);
+        }
+    }
+
+    @Override
+    public synchronized void productRemoved(Product product) {
+        Integer place = places.remove(product);
+        if (place == null) {
+            return;
+        }
+        size--;
+        if (place < size) {
+            Product last = heap[size];
+            move(size, place);
+            siftUp(place);
+            siftDown(places.get(last));
+        }
+        heap[size] = null;
+    }
+
+    @Override
+    public synchronized void stockChanged(Product product, int quantityAvailable, int quantitySold) {
+        Integer place = places.get(product);
+        if (place == null) {
+            return;
+        }
+        available[place] = quantityAvailable;
+        siftUp(place);
+        siftDown(places.get(product));
+    }
+
+    @Override
+    public void thresholdChanged(int threshold) {
+        // the order of the products does not depend on the threshold
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the product with given available quantity at the end of the heap and moves it up to its place
+    private void add(Product product, int quantityAvailable) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            available = Arrays.copyOf(available, size * 2);
+            maximum = Arrays.copyOf(maximum, size * 2);
+        }
+        heap[size] = product;
+        available[size] = quantityAvailable;
+        maximum[size] = product.getQuantityMaximum();
+        places.put(product, size);
+        siftUp(size++);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: swaps the product at place with its parent while it is more depleted than its parent
+    private void siftUp(int place) {
+        while (place > 0 && compare(place, (place - 1) / 2) < 0) {
+            swap(place, (place - 1) / 2);
+            place = (place - 1) / 2;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: swaps the product at place with its most depleted child while that child is more depleted
+    private void siftDown(int place) {
+        while (2 * place + 1 < size) {
+            int child = 2 * place + 1;
+            if (child + 1 < size && compare(child + 1, child) < 0) {
+                child++;
+            }
+            if (compare(child, place) >= 0) {
+                return;
+            }
+            swap(place, child);
+            place = child;
+        }
+    }
+
+    // EFFECTS: compares how full the stock of the products at two places is: negative if the first is emptier.
+    //          Compares available1 / maximum1 with available2 / maximum2 without dividing, so no rounding occurs
+    private int compare(int first, int second) {
+        return Long.compare((long) available[first] * maximum[second], (long) available[second] * maximum[first]);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: swaps the products at two places
+    private void swap(int first, int second) {
+        Product product = heap[first];
+        int productAvailable = available[first];
+        int productMaximum = maximum[first];
+        move(second, first);
+        heap[second] = product;
+        available[second] = productAvailable;
+        maximum[second] = productMaximum;
+        places.put(product, second);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts the product at place from at place to, overwriting what was there
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        available[to] = available[from];
+        maximum[to] = maximum[from];
+        places.put(heap[to], to);
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import java.util.List;
+
+// The products of a store that registers find, add and sell, whichever way they are stored: Inventory (with
+// observers, a journal and lazily loaded saves) or ConcurrentInventory (with striped locks). Every method is
+// safe to call from several threads at once. Registers should sell and restock through sell and restock rather
+// than on the product findProduct returns, so the inventory can order the change with the product's removal.
+public interface StoreInventory {
+
+    // REQUIRES: 0 < threshold < 100
+    // MODIFIES: this
+    // EFFECTS: changes the percentage of when a product is deemed "nearly out of stock" to given value
+    void setThreshold(int threshold);
+
+    // REQUIRES: product is not in any other inventory
+    // MODIFIES: this
+    // EFFECTS: adds given product to the products and logs the event into EventLog.
+    //          Throws IllegalArgumentException if a product with the same name is already in the inventory
+    void addProduct(Product product);
+
+    // EFFECTS: returns the product with the given name, or null if there is none
+    Product findProduct(String productName);
+
+    // REQUIRES: unitsSold >= 0
+    // MODIFIES: the product with the given name
+    // EFFECTS: sells the given number of units of the product with the given name, as Product.sell does, and
+    //          returns true, or returns false if it does not have enough units available.
+    //          Throws IllegalArgumentException if there is no product with that name
+    boolean sell(String productName, int unitsSold);
+
+    // MODIFIES: the product with the given name
+    // EFFECTS: restocks the product with the given name to its maximum quantity, as Product.restock does, and
+    //          returns what it cost. Throws IllegalArgumentException if there is no product with that name
+    double restock(String productName);
+
+    // EFFECTS: returns the products that are close to, or already are, out of stock, in the order of the products
+    List<Product> viewLowStockProducts();
+
+    // EFFECTS: returns a view of the threshold and the products, which can be saved while products keep being sold
+    InventoryView view();
+
+    // EFFECTS: returns the percentage of products' maximum quantity at or below which they are nearly out of stock
+    int getThreshold();
+
+    // EFFECTS: returns the products in the order they were added
+    List<Product> getProducts();
+}
@@ -0,0 +1,30 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Helpers for replacing save files so that a crash leaves either the old or the new file, never half of one
+final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    // EFFECTS: returns the temporary file that a new version of target is written to before it replaces target
+    static Path temporaryFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    // MODIFIES: the files at written and target
+    // EFFECTS: moves written over target in one step. Falls back to an ordinary replace on file systems that
+    //          cannot move atomically. Throws IOException if the file cannot be moved
+    static void replace(Path written, Path target) throws IOException {
+        try {
+            Files.move(written, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(written, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
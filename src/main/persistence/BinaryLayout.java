@@ -0,0 +1,83 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Where each section of a binary save starts, worked out from its header and size (see BinaryWriter)
+final class BinaryLayout {
+    final int version;
+    final int threshold;
+    final int count; // number of products
+    final int costs;
+    final int maximums;
+    final int availables;
+    final int solds;
+    final int names;
+    final int nameEnds;
+    final int slots; // start of the name index, in version 2 and later
+    final int tableSize; // number of slots in the name index; 0 in version 1
+
+    // EFFECTS: reads the header of the binary save in file and works out its sections.
+    //          Throws IOException if the file is not a binary save of a known version, or is too short
+    BinaryLayout(ByteBuffer file) throws IOException {
+        if (file.limit() < BinaryWriter.HEADER_SIZE || file.getInt(0) != BinaryWriter.MAGIC) {
+            throw new IOException("Not a binary inventory save");
+        }
+        version = file.getInt(4);
+        if (version < 1 || version > BinaryWriter.VERSION) {
+            throw new IOException("Unsupported binary inventory save version " + version);
+        }
+        threshold = file.getInt(8);
+        count = file.getInt(12);
+        tableSize = version == 1 ? 0 : tableSizeFor(count);
+        long fixedSize = BinaryWriter.HEADER_SIZE + 24L * Math.max(count, 0) + 4L * tableSize;
+        if (count < 0 || fixedSize > file.limit()) {
+            throw new IOException("Malformed binary save: it is too short for " + count + " products");
+        }
+        costs = BinaryWriter.HEADER_SIZE;
+        maximums = costs + Double.BYTES * count;
+        availables = maximums + Integer.BYTES * count;
+        solds = availables + Integer.BYTES * count;
+        names = solds + Integer.BYTES * count;
+        slots = file.limit() - Integer.BYTES * tableSize;
+        nameEnds = slots - Integer.BYTES * count;
+    }
+
+    // EFFECTS: returns the number of slots in the name index for given number of products: the smallest power
+    //          of two that is more than twice the number of products, so the index is at most half full
+    static int tableSizeFor(int count) {
+        return Integer.highestOneBit(Math.max(1, count) * 2) << 1;
+    }
+
+    // EFFECTS: returns the hash of a name that picks its first slot in the name index. Only depends on the
+    //          name's characters, so it is the same in every run of the program
+    static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // EFFECTS: checks that the names section is well formed: every name ends after the one before it, and
+    //          inside the names section. Throws IOException if it is not
+    void checkNames(ByteBuffer file) throws IOException {
+        int previous = 0;
+        for (int p = 0; p < count; p++) {
+            int end = file.getInt(nameEnds + Integer.BYTES * p);
+            if (end < previous || names + (long) end > nameEnds) {
+                throw new IOException("Malformed binary save: name of product " + p + " is out of bounds");
+            }
+            previous = end;
+        }
+    }
+
+    // REQUIRES: 0 <= p < count, checkNames passed
+    // EFFECTS: returns where the name of product p starts in the file
+    int nameStart(ByteBuffer file, int p) {
+        return names + (p == 0 ? 0 : file.getInt(nameEnds + Integer.BYTES * (p - 1)));
+    }
+
+    // REQUIRES: 0 <= p < count, checkNames passed
+    // EFFECTS: returns where the name of product p ends in the file
+    int nameEnd(ByteBuffer file, int p) {
+        return names + file.getInt(nameEnds + Integer.BYTES * p);
+    }
+}
@@ -0,0 +1,83 @@
+package persistence;
+
+import model.Inventory;
+import model.Product;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads a binary save written by BinaryWriter and loads it in the application.
+// The file is memory-mapped, so its bytes are read straight from the operating system's page cache.
+public class BinaryReader {
+    private final String saveLocation; // where the save is located
+
+    // EFFECTS: constructs a reader that can load the save file
+    public BinaryReader(String saveLocation) {
+        this.saveLocation = saveLocation;
+    }
+
+    // EFFECTS: reads the save file and loads it into the application, creating every product right away.
+    // Throws IOException if an error occurs during reading, or if the file is not a valid binary save
+    public Inventory read() throws IOException {
+        MappedByteBuffer file = map();
+        BinaryLayout layout = new BinaryLayout(file);
+        layout.checkNames(file);
+        Inventory i = new Inventory();
+        i.setThreshold(layout.threshold);
+        addProducts(file, layout, i);
+        return i;
+    }
+
+    // EFFECTS: reads the save file and returns an inventory that only creates a product when it is first
+    //          needed (see Inventory(ProductSource, int)), so the inventory can be used right away however
+    //          many products the save has. The file stays mapped until the inventory is no longer used.
+    //          Saves without a name index (version 1) are read with read().
+    // Throws IOException if an error occurs during reading, or if the file is not a valid binary save
+    public Inventory readLazily() throws IOException {
+        MappedByteBuffer file = map();
+        BinaryLayout layout = new BinaryLayout(file);
+        if (layout.version == 1) {
+            return read();
+        }
+        layout.checkNames(file);
+        return new Inventory(new MappedProductSource(file, layout), layout.threshold);
+    }
+
+    // EFFECTS: maps the whole save file into memory, read-only
+    private MappedByteBuffer map() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(saveLocation), StandardOpenOption.READ)) {
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            file.order(ByteOrder.LITTLE_ENDIAN);
+            return file;
+        }
+    }
+
+    // REQUIRES: layout.checkNames(file) passed
+    // MODIFIES: i
+    // EFFECTS: recreates every product in the file and adds them all to given inventory, without logging events
+    private void addProducts(MappedByteBuffer file, BinaryLayout layout, Inventory i) {
+        List<Product> products = new ArrayList<>(layout.count);
+        byte[] name = new byte[64];
+        for (int p = 0; p < layout.count; p++) {
+            int start = layout.nameStart(file, p);
+            int length = layout.nameEnd(file, p) - start;
+            if (length > name.length) {
+                name = new byte[Math.max(length, name.length * 2)];
+            }
+            file.get(start, name, 0, length);
+            products.add(new Product(new String(name, 0, length, StandardCharsets.UTF_8),
+                    file.getInt(layout.maximums + Integer.BYTES * p),
+                    file.getInt(layout.availables + Integer.BYTES * p),
+                    file.getInt(layout.solds + Integer.BYTES * p),
+                    file.getDouble(layout.costs + Double.BYTES * p)));
+        }
+        i.addSavedProducts(products);
+    }
+}
@@ -0,0 +1,171 @@
+package persistence;
+
+import model.Inventory;
+import model.InventoryView;
+import model.Product;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Writes a binary save for the inventory: a much smaller and faster alternative to the JSON save, meant for
+// the app's own snapshots. JSON stays the format for sharing saves with other programs.
+// Layout (little-endian), for n products:
+//   header      MAGIC, VERSION, threshold, n                      4 ints
+//   columns     cost (n doubles), quantityMaximum, quantityAvailable, quantitySold (n ints each)
+//   names       the UTF-8 bytes of every name, one after another
+//   name ends   where each name ends in the names section         n ints
+//   name index  hash table of product numbers + 1 (0 if empty)    BinaryLayout.tableSizeFor(n) ints
+// Every column starts at a fixed offset that only depends on n, so a reader can find any product's fields
+// without reading the products before it, and the name index finds a product by name the same way.
+// Version 1 had no name index.
+// Like JsonWriter, the save goes to a temporary file first and then replaces the old save in one step.
+public class BinaryWriter {
+    static final int MAGIC = 0x53564E49; // the bytes "INVS" when written little-endian
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final String saveLocation; // where the save will be located
+    private final ByteBuffer buffer; // bytes that have not been written to the file yet
+    private FileChannel channel;
+
+    // EFFECTS: constructs a writer that saves to the given location
+    public BinaryWriter(String saveLocation) {
+        this.saveLocation = saveLocation;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the current state of the inventory. Throws IOException if the save location is
+    //          inaccessible or the file could not be written
+    public void fullSave(Inventory i) throws IOException {
+        fullSave(i.view());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the given view of an inventory. Can be called from any thread while the inventory keeps
+    //          changing. Throws IOException if the save location is inaccessible or the file could not be written
+    public void fullSave(InventoryView view) throws IOException {
+        Path target = Paths.get(saveLocation);
+        Path temporary = AtomicFiles.temporaryFor(target);
+        boolean written = false;
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel = out;
+            write(view);
+            out.force(true);
+            written = true;
+        } finally {
+            channel = null;
+            if (!written) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        AtomicFiles.replace(temporary, target);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the header, the columns, and the names of the products in the view
+    private void write(InventoryView view) throws IOException {
+        List<Product> products = view.getProducts();
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(view.getThreshold()).putInt(products.size());
+        for (Product p : products) {
+            makeRoom(Double.BYTES);
+            buffer.putDouble(p.getCost());
+        }
+        for (Product p : products) {
+            makeRoom(Integer.BYTES);
+            buffer.putInt(p.getQuantityMaximum());
+        }
+        writeStock(products);
+        writeNames(products);
+        flush();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the available and sold columns. Each product's two quantities are read together, once, so a
+    //          sale on another thread between the two columns cannot give a product a pair it never had
+    private void writeStock(List<Product> products) throws IOException {
+        long[] stocks = new long[products.size()];
+        for (int i = 0; i < stocks.length; i++) {
+            stocks[i] = products.get(i).getStock();
+            makeRoom(Integer.BYTES);
+            buffer.putInt(Product.available(stocks[i]));
+        }
+        for (long stock : stocks) {
+            makeRoom(Integer.BYTES);
+            buffer.putInt(Product.sold(stock));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the names section, followed by the column of where each name ends and the name index
+    private void writeNames(List<Product> products) throws IOException {
+        int[] ends = new int[products.size()];
+        int[] slots = new int[BinaryLayout.tableSizeFor(products.size())];
+        int end = 0;
+        for (int i = 0; i < ends.length; i++) {
+            String productName = products.get(i).getName();
+            addToIndex(slots, productName, i);
+            byte[] name = productName.getBytes(StandardCharsets.UTF_8);
+            for (int offset = 0; offset < name.length; ) {
+                makeRoom(1);
+                int length = Math.min(buffer.remaining(), name.length - offset);
+                buffer.put(name, offset, length);
+                offset += length;
+            }
+            end += name.length;
+            ends[i] = end;
+        }
+        writeInts(ends);
+        writeInts(slots);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes every value in the array
+    private void writeInts(int[] values) throws IOException {
+        for (int value : values) {
+            makeRoom(Integer.BYTES);
+            buffer.putInt(value);
+        }
+    }
+
+    // MODIFIES: slots
+    // EFFECTS: puts product number p into the first empty slot for its name, searching from the slot its hash
+    //          picks. The table is at most half full, so an empty slot is always found
+    private static void addToIndex(int[] slots, String name, int p) {
+        int mask = slots.length - 1;
+        int slot = BinaryLayout.hash(name) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = p + 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the buffer to the file if it has fewer than the given number of bytes left
+    private void makeRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes everything in the buffer to the file and empties the buffer
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package persistence;
+
+import model.Inventory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+// Reads a save file in whichever format it was written in: a binary save (recognised by the magic number at
+// its start) is read lazily with BinaryReader, and anything else is read as JSON with JsonStreamReader.
+// JSON saves of several chunks are read in parallel on the common fork-join pool if there is more than one core
+public class InventoryReader {
+    private final String saveLocation; // where the save is located
+
+    // EFFECTS: constructs a reader that can load the save file
+    public InventoryReader(String saveLocation) {
+        this.saveLocation = saveLocation;
+    }
+
+    // EFFECTS: reads the save file and loads it into the application.
+    // Throws IOException if an error occurs during reading, or if the save file is not a valid save
+    public Inventory read() throws IOException {
+        if (isBinarySave()) {
+            return new BinaryReader(saveLocation).readLazily();
+        }
+        if (Runtime.getRuntime().availableProcessors() > 1
+                && Files.size(Paths.get(saveLocation)) > 2 * JsonStreamReader.CHUNK_SIZE) {
+            return new JsonStreamReader(saveLocation, ForkJoinPool.commonPool()).read();
+        }
+        return new JsonStreamReader(saveLocation).read();
+    }
+
+    // EFFECTS: returns true if the save file starts with the magic number of a binary save.
+    //          Throws IOException if the file cannot be read
+    public boolean isBinarySave() throws IOException {
+        try (InputStream in = Files.newInputStream(Paths.get(saveLocation))) {
+            byte[] magic = new byte[Integer.BYTES];
+            int read = in.readNBytes(magic, 0, magic.length);
+            int value = (magic[0] & 0xFF) | (magic[1] & 0xFF) << 8 | (magic[2] & 0xFF) << 16 | (magic[3] & 0xFF) << 24;
+            return read == magic.length && value == BinaryWriter.MAGIC;
+        }
+    }
+}
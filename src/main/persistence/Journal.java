@@ -0,0 +1,492 @@
+package persistence;
+
+import model.Inventory;
+import model.InventoryObserver;
+import model.Product;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// An append-only journal of the changes made to an inventory, so changes made since the last full save
+// survive a crash. Attach it to an inventory with Inventory.addObserver.
+// Each change becomes a small binary record that is added to an in-memory batch by the thread that made
+// the change. A background thread writes the batch to the end of the file and forces it to disk; changes
+// made while one batch is being forced go out together in the next one, so many changes share one fsync.
+// Records hold a product's quantities after the change rather than the change itself, so replaying a record
+// that a snapshot already contains, or replaying the same journal twice, gives the same inventory.
+// Once a snapshot covers the records before a checkpoint, truncate drops them so the journal stays short.
+// File layout: MAGIC, VERSION, then records of [int length][length bytes][int CRC32 of those bytes].
+public class Journal implements InventoryObserver, Closeable {
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+
+    private static final int MAGIC = 0x494E564A; // "INVJ"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte STOCK = 3; // after a sale or a restock
+    private static final byte THRESHOLD = 4;
+    private static final ThreadLocal<RecordBuilder> RECORDS = ThreadLocal.withInitial(RecordBuilder::new);
+
+    private final Path path;
+    private final Object fileLock = new Object(); // held while writing to or replacing the file
+    private FileChannel channel; // guarded by fileLock once the committer is running
+    private final long commitIntervalMillis; // how long the committer waits for more records after a batch
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream(); // records not yet written to the file
+    private final DataOutputStream batchOut = new DataOutputStream(batch);
+    private long appendedEnd; // file position where the end of the batch will be once it is written
+    private long durableEnd; // file position up to which records are forced to disk
+    private IOException failure; // first error while writing; no more records are written after it
+    private boolean closed;
+    private final Thread committer;
+
+    // EFFECTS: opens the journal at given location for appending, creating it if it does not exist, and
+    //          commits batches every DEFAULT_COMMIT_INTERVAL_MILLIS at most.
+    //          Throws IOException if the file cannot be opened or is not a journal
+    public Journal(String journalLocation) throws IOException {
+        this(journalLocation, DEFAULT_COMMIT_INTERVAL_MILLIS);
+    }
+
+    // REQUIRES: commitIntervalMillis >= 0
+    // EFFECTS: opens the journal at given location for appending, creating it if it does not exist.
+    //          A record that was only partly written before a crash is cut off the end of the file.
+    //          Throws IOException if the file cannot be opened or is not a journal
+    public Journal(String journalLocation, long commitIntervalMillis) throws IOException {
+        this.path = Paths.get(journalLocation);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.commitIntervalMillis = commitIntervalMillis;
+        try {
+            prepareForAppending();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.committer = new Thread(this::commitLoop, "inventory-journal");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    // EFFECTS: returns the inventory in the snapshot at snapshotLocation (JSON or binary) with every change in the
+    //          journal at journalLocation applied to it. Either file may be missing: with no snapshot the journal is
+    //          applied to an empty inventory. Throws IOException if either file cannot be read
+    public static Inventory recover(String snapshotLocation, String journalLocation) throws IOException {
+        Inventory i = Files.exists(Paths.get(snapshotLocation))
+                ? new InventoryReader(snapshotLocation).read() : new Inventory();
+        if (Files.exists(Paths.get(journalLocation))) {
+            replay(journalLocation, i);
+        }
+        return i;
+    }
+
+    // MODIFIES: i
+    // EFFECTS: applies every whole record in the journal to given inventory and returns how many there were.
+    //          Stops at a record that was only partly written. Products added by the journal are collected as
+    //          they are replayed and added to the inventory together at the end, in the order they were added.
+    //          Logs no event, since replaying the journal does not change the store.
+    //          Throws IOException if the file cannot be read or is not a journal
+    public static long replay(String journalLocation, Inventory i) throws IOException {
+        Map<String, Product> added = new LinkedHashMap<>(); // products added by the journal, not yet in i
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(journalLocation)))) {
+            DataInputStream data = new DataInputStream(in);
+            readHeader(data);
+            long records = 0;
+            byte[] body = readRecord(data);
+            while (body != null) {
+                apply(new DataInputStream(new ByteArrayInputStream(body)), i, added);
+                records++;
+                body = readRecord(data);
+            }
+            return records;
+        } finally {
+            i.addSavedProducts(new ArrayList<>(added.values()));
+        }
+    }
+
+    @Override
+    public void productAdded(Product product, int quantityAvailable, int quantitySold) {
+        RecordBuilder record = RECORDS.get();
+        try {
+            record.out.writeByte(ADD);
+            record.out.writeUTF(product.getName());
+            record.out.writeInt(product.getQuantityMaximum());
+            record.out.writeDouble(product.getCost());
+            record.out.writeInt(quantityAvailable);
+            record.out.writeInt(quantitySold);
+            append(record);
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            record.bytes.reset();
+        }
+    }
+
+    @Override
+    public void productRemoved(Product product) {
+        RecordBuilder record = RECORDS.get();
+        try {
+            record.out.writeByte(REMOVE);
+            record.out.writeUTF(product.getName());
+            append(record);
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            record.bytes.reset();
+        }
+    }
+
+    @Override
+    public void stockChanged(Product product, int quantityAvailable, int quantitySold) {
+        RecordBuilder record = RECORDS.get();
+        try {
+            record.out.writeByte(STOCK);
+            record.out.writeUTF(product.getName());
+            record.out.writeInt(quantityAvailable);
+            record.out.writeInt(quantitySold);
+            append(record);
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            record.bytes.reset();
+        }
+    }
+
+    @Override
+    public void thresholdChanged(int threshold) {
+        RecordBuilder record = RECORDS.get();
+        try {
+            record.out.writeByte(THRESHOLD);
+            record.out.writeInt(threshold);
+            append(record);
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            record.bytes.reset();
+        }
+    }
+
+    // EFFECTS: waits until every record added so far is on disk.
+    //          Throws IOException if the journal could not be written
+    public void sync() throws IOException {
+        long target;
+        synchronized (this) {
+            target = appendedEnd;
+        }
+        waitUntilDurable(target);
+    }
+
+    // EFFECTS: returns a checkpoint: the position in the journal after every record added so far.
+    //          A snapshot of the inventory taken after this call contains every change recorded before it.
+    public synchronized long checkpoint() {
+        return appendedEnd;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the records before given checkpoint from the journal, once they are on disk. The rest of
+    //          the journal is copied to a temporary file that then replaces the journal, so a crash leaves
+    //          either the whole journal or the shortened one. Records can keep being added meanwhile.
+    //          Throws IOException if the journal could not be written
+    public void truncate(long checkpoint) throws IOException {
+        waitUntilDurable(checkpoint);
+        synchronized (fileLock) {
+            long removed = checkpoint - HEADER_SIZE;
+            if (removed <= 0) {
+                return;
+            }
+            Path temporary = AtomicFiles.temporaryFor(path);
+            copyTail(checkpoint, temporary);
+            channel.close();
+            AtomicFiles.replace(temporary, path);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            synchronized (this) {
+                appendedEnd -= removed;
+                durableEnd -= removed;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes every record added so far to disk and closes the journal.
+    //          Throws IOException if the journal could not be written
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (fileLock) {
+            channel.close();
+        }
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the header to a new journal, or checks the header of an existing one and cuts off a
+    //          partly written record at its end, then moves to the end of the file
+    private void prepareForAppending() throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(channel, header);
+            channel.force(false);
+            appendedEnd = HEADER_SIZE;
+            durableEnd = HEADER_SIZE;
+            return;
+        }
+        channel.position(0);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        readHeader(data);
+        long end = HEADER_SIZE;
+        byte[] body = readRecord(data);
+        while (body != null) {
+            end += body.length + 8;
+            body = readRecord(data);
+        }
+        channel.truncate(end);
+        channel.position(end);
+        appendedEnd = end;
+        durableEnd = end;
+    }
+
+    // EFFECTS: writes a journal to given file with the header and the records from given position to the end
+    //          of this journal, and forces it to disk. Caller must hold fileLock
+    private void copyTail(long from, Path destination) throws IOException {
+        try (FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(out, header);
+            long position = from;
+            long end = channel.size();
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+            out.force(false);
+        }
+    }
+
+    // EFFECTS: waits until the journal is on disk up to given position.
+    //          Throws IOException if the journal could not be written
+    private synchronized void waitUntilDurable(long position) throws IOException {
+        while (durableEnd < position && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the journal", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the record that was just built into the batch, with its length and checksum. The record is
+    //          built and checksummed by the calling thread, so only the copy into the batch holds the journal's
+    //          lock. Called by the inventory while it holds the changed product's lock (and its own lock for adds,
+    //          removals and threshold changes), so each product's records are added in the order of its changes
+    private void append(RecordBuilder record) throws IOException {
+        byte[] body = record.bytes.toByteArray();
+        record.checksum.reset();
+        record.checksum.update(body);
+        int checksum = (int) record.checksum.getValue();
+        synchronized (this) {
+            if (failure != null || closed) {
+                return;
+            }
+            batchOut.writeInt(body.length);
+            batchOut.write(body);
+            batchOut.writeInt(checksum);
+            appendedEnd += body.length + 8;
+            notifyAll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remembers the first error so sync and close can report it, and wakes up anyone waiting
+    private synchronized void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        notifyAll();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: commits batches until the journal is closed or a batch cannot be written
+    private void commitLoop() {
+        try {
+            while (commitNextBatch()) {
+                Thread.sleep(commitIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            fail(new IOException("Journal committer was interrupted", e));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits for records, then writes them to the file and forces it to disk.
+    //          Returns false if the journal is closed and has nothing left to write, or writing failed
+    private boolean commitNextBatch() throws InterruptedException {
+        if (!awaitRecords()) {
+            return false;
+        }
+        synchronized (fileLock) {
+            return writeBatch();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the current batch to the file, forces it to disk and starts a new batch.
+    //          Returns false if writing failed. Caller must hold fileLock
+    private boolean writeBatch() {
+        byte[] toWrite;
+        long batchEnd;
+        synchronized (this) {
+            toWrite = batch.toByteArray();
+            batch.reset();
+            batchEnd = appendedEnd;
+        }
+        try {
+            writeFully(channel, ByteBuffer.wrap(toWrite));
+            channel.force(false);
+        } catch (IOException e) {
+            fail(e);
+            return false;
+        }
+        synchronized (this) {
+            durableEnd = batchEnd;
+            notifyAll();
+        }
+        return true;
+    }
+
+    // EFFECTS: waits until there are records to write. Returns false if the journal was closed with nothing
+    //          left to write, or has failed
+    private synchronized boolean awaitRecords() throws InterruptedException {
+        while (batch.size() == 0 && !closed && failure == null) {
+            wait();
+        }
+        return batch.size() > 0 && failure == null;
+    }
+
+    // MODIFIES: out
+    // EFFECTS: writes all remaining bytes of given buffer at the current position of out
+    private static void writeFully(FileChannel out, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    // EFFECTS: reads the journal header. Throws IOException if the file is not a journal of a known version
+    private static void readHeader(DataInputStream data) throws IOException {
+        try {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("Not an inventory journal");
+            }
+            int version = data.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported inventory journal version " + version);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Not an inventory journal", e);
+        }
+    }
+
+    // EFFECTS: reads one record and returns its bytes, or null if the journal ends here, possibly in the middle
+    //          of a record that was being written when the program stopped
+    private static byte[] readRecord(DataInputStream data) throws IOException {
+        try {
+            int length = data.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] body = new byte[length];
+            data.readFully(body);
+            int expected = data.readInt();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            return (int) crc.getValue() == expected ? body : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // MODIFIES: i, added
+    // EFFECTS: applies one record to given inventory, or to the products added by the journal that are not in it
+    //          yet. The product quantities in it replace the current ones, so applying a record that the inventory
+    //          already reflects changes nothing
+    private static void apply(DataInputStream record, Inventory i, Map<String, Product> added) throws IOException {
+        byte type = record.readByte();
+        if (type == THRESHOLD) {
+            i.setThreshold(record.readInt());
+            return;
+        }
+        String name = record.readUTF();
+        Product product = added.containsKey(name) ? added.get(name) : i.findProduct(name);
+        if (type == ADD) {
+            applyAdd(record, added, name, product);
+        } else if (type == REMOVE && product != null) {
+            if (added.remove(name) == null) {
+                i.removeSavedProduct(product);
+            }
+        } else if (type == STOCK && product != null) {
+            product.restore(record.readInt(), record.readInt());
+        } else if (type != REMOVE && type != STOCK) {
+            throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    // MODIFIES: added
+    // EFFECTS: applies an add record: restores the quantities of the product with that name if there already is
+    //          one, and otherwise puts a new product in added
+    private static void applyAdd(DataInputStream record, Map<String, Product> added, String name, Product existing)
+            throws IOException {
+        int quantityMaximum = record.readInt();
+        double cost = record.readDouble();
+        int quantityAvailable = record.readInt();
+        int quantitySold = record.readInt();
+        if (existing == null) {
+            added.put(name, new Product(name, quantityMaximum, quantityAvailable, quantitySold, cost));
+        } else {
+            existing.restore(quantityAvailable, quantitySold);
+        }
+    }
+
+    // A record being built by one thread. Each thread that changes the inventory has its own, so records are
+    // encoded and checksummed without holding the journal's lock
+    private static final class RecordBuilder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final CRC32 checksum = new CRC32();
+    }
+}
@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 // Reads the Json save file and loads it in the application
@@ -51,21 +53,22 @@ public class JsonReader {
         return i;
     }
 
+    // MODIFIES: i
     // EFFECTS: recreates products and their information from based on the save JSON file,
-    // and adds them to the inventory
+    // and adds them all to the inventory at once, with the quantities they were saved with
     private void addProducts(Inventory i, JSONObject jsonObject) {
         JSONArray jsonArray = jsonObject.getJSONArray("products");
+        List<Product> recreatedProducts = new ArrayList<>(jsonArray.length());
         for (Object json: jsonArray) {
             JSONObject nextProduct = (JSONObject) json;
             String name = nextProduct.getString("name");
             int quantityMaximum = nextProduct.getInt("quantityMaximum");
             int quantitySold = nextProduct.getInt("quantitySold");
+            // saves from before quantityAvailable was saved only have what was sold since the last restock
+            int quantityAvailable = nextProduct.optInt("quantityAvailable", quantityMaximum - quantitySold);
             double cost = nextProduct.getDouble("cost");
-            Product recreatedProduct = new Product(name,quantityMaximum, cost);
-            i.addProduct(recreatedProduct);
-            recreatedProduct.sell(quantitySold); //also changes quantityAvailable to correct amount
-            // Order between the last two lines was reversed so that the event logs make sense, while also
-            // not adding a "specific" event to Product constructor (product added to inventory).
+            recreatedProducts.add(new Product(name, quantityMaximum, quantityAvailable, quantitySold, cost));
         }
+        i.addSavedProducts(recreatedProducts);
     }
 }
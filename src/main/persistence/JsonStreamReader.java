@@ -0,0 +1,265 @@
+package persistence;
+
+import model.Inventory;
+import model.Product;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Reads a JSON save file and loads it in the application without building the whole JSON document in memory.
+// Each product is created as soon as it is read, so memory use does not grow with the size of the save file.
+// Produces the same inventory as JsonReader.
+// Given a fork-join pool, the products array is read in parallel chunks that start near evenly spaced file
+// offsets, without reading what comes before them (see readProducts). Their products are added to the inventory
+// in file order, and both ways of reading accept and reject exactly the same files.
+public class JsonStreamReader {
+    static final long CHUNK_SIZE = 4 << 20; // bytes of products that one task reads, roughly
+
+    private final String saveLocation; // where the save is located
+    private final ForkJoinPool pool; // the pool that reads the chunks of products, or null to read on one thread
+    private final long chunkSize;
+
+    // EFFECTS: constructs a reader that can load the save file on the calling thread
+    public JsonStreamReader(String saveLocation) {
+        this(saveLocation, null, CHUNK_SIZE);
+    }
+
+    // EFFECTS: constructs a reader that can load the save file, reading the products in parallel on given pool
+    public JsonStreamReader(String saveLocation, ForkJoinPool pool) {
+        this(saveLocation, pool, CHUNK_SIZE);
+    }
+
+    // REQUIRES: chunkSize > 0
+    // EFFECTS: constructs a reader that reads chunks of about chunkSize bytes of products in parallel on the pool,
+    //          or reads on the calling thread if pool is null
+    JsonStreamReader(String saveLocation, ForkJoinPool pool, long chunkSize) {
+        this.saveLocation = saveLocation;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    // EFFECTS: reads the save file and loads it into the application.
+    // Throws IOException if an error occurs during reading, or if the save file is not a valid save
+    public Inventory read() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(saveLocation), StandardOpenOption.READ)) {
+            JsonTokenizer tokenizer = new JsonTokenizer(channel, 0, channel.size());
+            Inventory i = new Inventory();
+            readInventory(channel, tokenizer, i);
+            return i;
+        }
+    }
+
+    // MODIFIES: i
+    // EFFECTS: reads the top-level save object, setting the threshold and adding the products to given inventory
+    private void readInventory(FileChannel channel, JsonTokenizer tokenizer, Inventory i) throws IOException {
+        tokenizer.expect('{');
+        if (tokenizer.consumeIf('}')) {
+            return;
+        }
+        do {
+            String key = tokenizer.readString();
+            tokenizer.expect(':');
+            if (key.equals("threshold")) {
+                i.setThreshold(tokenizer.readInt());
+            } else if (key.equals("products")) {
+                addSavedProducts(i, pool == null ? readProducts(tokenizer) : readProducts(channel, tokenizer));
+            } else {
+                tokenizer.skipValue();
+            }
+        } while (tokenizer.consumeIf(','));
+        tokenizer.expect('}');
+    }
+
+    // EFFECTS: reads the products array on this thread and returns its products
+    private List<Product> readProducts(JsonTokenizer tokenizer) throws IOException {
+        tokenizer.expect('[');
+        List<Product> recreatedProducts = new ArrayList<>();
+        if (tokenizer.consumeIf(']')) {
+            return recreatedProducts;
+        }
+        do {
+            recreatedProducts.add(readProduct(tokenizer));
+        } while (tokenizer.consumeIf(','));
+        tokenizer.expect(']');
+        return recreatedProducts;
+    }
+
+    // MODIFIES: tokenizer
+    // EFFECTS: reads the products array in parallel on the pool, returns its products in file order and moves the
+    //          tokenizer to just after the array. Chunks start at guessed product boundaries: the first '{' after a
+    //          ',' past each multiple of chunkSize bytes. A guess can be wrong (a name may hold ",{"), so each chunk
+    //          is read from its guess until it lands exactly on a later guess or reaches the end of the array.
+    //          Only the first chunk and the chunks that a kept chunk landed on are kept, so their products are
+    //          exactly the ones that reading on one thread finds, and the same errors are thrown
+    private List<Product> readProducts(FileChannel channel, JsonTokenizer tokenizer) throws IOException {
+        tokenizer.expect('[');
+        if (tokenizer.consumeIf(']')) {
+            return new ArrayList<>();
+        }
+        long[] starts = guessStarts(channel, tokenizer.getPosition());
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(starts.length);
+        for (int k = 0; k < starts.length; k++) {
+            int chunk = k;
+            tasks.add(pool.submit(() -> Chunk.read(channel, starts, chunk)));
+        }
+        try {
+            return joinChunks(tasks, tokenizer);
+        } finally {
+            for (ForkJoinTask<Chunk> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    // EFFECTS: returns the file position where the first product starts (first), followed by the guessed starts of
+    //          products after every multiple of chunkSize bytes past it, in increasing order
+    private long[] guessStarts(FileChannel channel, long first) throws IOException {
+        JsonTokenizer scanner = new JsonTokenizer(channel, first, channel.size());
+        List<Long> starts = new ArrayList<>(List.of(first));
+        long last = first;
+        for (long offset = first + chunkSize; offset < channel.size(); offset += chunkSize) {
+            last = scanner.findElementAfter(Math.max(offset, last));
+            if (last < 0) {
+                break;
+            }
+            starts.add(last);
+        }
+        return starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // MODIFIES: tokenizer
+    // EFFECTS: follows the chunks from the first one, each to the chunk it landed on, and returns their products
+    //          in order. Moves the tokenizer to just after the array. Throws the IOException of a followed chunk
+    private static List<Product> joinChunks(List<ForkJoinTask<Chunk>> tasks, JsonTokenizer tokenizer)
+            throws IOException {
+        List<Product> recreatedProducts = new ArrayList<>();
+        Chunk chunk = join(tasks.get(0));
+        while (chunk.next >= 0) {
+            recreatedProducts.addAll(chunk.products);
+            chunk = join(tasks.get(chunk.next));
+        }
+        if (chunk.failure != null) {
+            throw chunk.failure;
+        }
+        recreatedProducts.addAll(chunk.products);
+        tokenizer.seek(chunk.end);
+        return recreatedProducts;
+    }
+
+    // EFFECTS: waits for the task to finish and returns its chunk. Throws InterruptedIOException if this thread is
+    //          interrupted while waiting
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading the save file");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Could not read the save file", e.getCause());
+        }
+    }
+
+    // MODIFIES: i
+    // EFFECTS: adds the products to given inventory. Throws IOException if two products have the same name
+    private static void addSavedProducts(Inventory i, List<Product> recreatedProducts) throws IOException {
+        try {
+            i.addSavedProducts(recreatedProducts);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed save file: " + e.getMessage(), e);
+        }
+    }
+
+    // EFFECTS: reads one product object and returns the recreated product, with the quantities it was saved with
+    static Product readProduct(JsonTokenizer tokenizer) throws IOException {
+        SavedProduct saved = new SavedProduct();
+        tokenizer.expect('{');
+        do {
+            String key = tokenizer.readString();
+            tokenizer.expect(':');
+            saved.readField(key, tokenizer);
+        } while (tokenizer.consumeIf(','));
+        tokenizer.expect('}');
+        return saved.recreate();
+    }
+
+    // The fields of one product object, as they are read
+    private static class SavedProduct {
+        private String name;
+        private int quantityMaximum;
+        private int quantityAvailable = -1; // not in saves from before quantityAvailable was saved
+        private int quantitySold;
+        private double cost;
+
+        // MODIFIES: this
+        // EFFECTS: reads the value of the field with given key, skipping the value if it is not a product field
+        private void readField(String key, JsonTokenizer tokenizer) throws IOException {
+            if (key.equals("name")) {
+                name = tokenizer.readString();
+            } else if (key.equals("quantityMaximum")) {
+                quantityMaximum = tokenizer.readInt();
+            } else if (key.equals("quantityAvailable")) {
+                quantityAvailable = tokenizer.readInt();
+            } else if (key.equals("quantitySold")) {
+                quantitySold = tokenizer.readInt();
+            } else if (key.equals("cost")) {
+                cost = tokenizer.readDouble();
+            } else {
+                tokenizer.skipValue();
+            }
+        }
+
+        // EFFECTS: returns the product with the fields read. Throws IOException if the product had no name
+        private Product recreate() throws IOException {
+            if (name == null) {
+                throw new IOException("Malformed save file: product without a name");
+            }
+            int available = quantityAvailable < 0 ? quantityMaximum - quantitySold : quantityAvailable;
+            return new Product(name, quantityMaximum, available, quantitySold, cost);
+        }
+    }
+
+    // The products read from one guessed start of a product in the products array, up to where reading stopped
+    private static class Chunk {
+        private final List<Product> products = new ArrayList<>();
+        private int next = -1; // index of the guessed start that reading landed on, or -1 if it did not land on one
+        private long end; // file position just after the array, if reading reached its end
+        private IOException failure; // why reading stopped before landing on a guess or the end of the array
+
+        // EFFECTS: reads products from starts[k], each followed by a ',' or by the ']' that ends the array, until
+        //          landing exactly on a later start, or reaching the end of the array, or finding something else
+        private static Chunk read(FileChannel channel, long[] starts, int k) throws IOException {
+            Chunk chunk = new Chunk();
+            JsonTokenizer tokenizer = new JsonTokenizer(channel, starts[k], channel.size());
+            int next = k + 1;
+            try {
+                do {
+                    chunk.products.add(readProduct(tokenizer));
+                    if (!tokenizer.consumeIf(',')) {
+                        tokenizer.expect(']');
+                        chunk.end = tokenizer.getPosition();
+                        return chunk;
+                    }
+                    tokenizer.peek();
+                    while (next < starts.length && starts[next] < tokenizer.getPosition()) {
+                        next++;
+                    }
+                } while (next == starts.length || starts[next] != tokenizer.getPosition());
+                chunk.next = next;
+            } catch (IOException e) {
+                chunk.failure = e;
+            }
+            return chunk;
+        }
+    }
+}
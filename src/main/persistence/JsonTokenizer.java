@@ -0,0 +1,288 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Reads JSON values one token at a time from a region of a file, through a fixed-size buffer.
+// Only as much of the file as fits in the buffer is held in memory at once.
+class JsonTokenizer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+    private static final String SHORT_ESCAPES = "btnfr";
+    private static final String SHORT_ESCAPE_VALUES = "\b\t\n\f\r";
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long position; // file position of the next byte to be loaded into the buffer
+    private final long end; // file position where this tokenizer stops reading
+    private char[] chars; // scratch space for strings and numbers being read
+    private int length; // number of chars currently in scratch space
+
+    // REQUIRES: 0 <= start <= end <= size of the channel's file
+    // EFFECTS: constructs a tokenizer that reads the bytes of channel from start (inclusive) to end (exclusive)
+    JsonTokenizer(FileChannel channel, long start, long end) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.limit(0);
+        this.position = start;
+        this.end = end;
+        this.chars = new char[64];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: skips whitespace and returns the next character without consuming it,
+    //          or -1 if the end of the region was reached
+    int peek() throws IOException {
+        int c = peekByte();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            buffer.get();
+            c = peekByte();
+        }
+        return c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: skips whitespace and consumes the next character.
+    //          Throws IOException if it is not the expected character
+    void expect(char expected) throws IOException {
+        int c = peek();
+        if (c != expected) {
+            throw error("expected '" + expected + "'");
+        }
+        buffer.get();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: skips whitespace, and consumes the next character if it is the given character.
+    //          Returns true if it was consumed.
+    boolean consumeIf(char c) throws IOException {
+        if (peek() == c) {
+            buffer.get();
+            return true;
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a JSON string (including its quotes) and returns its value with escapes resolved
+    String readString() throws IOException {
+        expect('"');
+        length = 0;
+        int b = nextByte();
+        while (b != '"') {
+            if (b == END) {
+                throw error("unterminated string");
+            } else if (b == '\\') {
+                readEscape();
+            } else if (b < 0x80) {
+                append((char) b);
+            } else {
+                readMultiByteCharacter(b);
+            }
+            b = nextByte();
+        }
+        return new String(chars, 0, length);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a JSON number and returns it as an int. Throws IOException if it is not a whole number
+    //          that fits in an int
+    int readInt() throws IOException {
+        double value = readDouble();
+        if (value != (int) value) {
+            throw error("expected a whole number but got " + value);
+        }
+        return (int) value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a JSON number and returns it as a double
+    double readDouble() throws IOException {
+        peek();
+        length = 0;
+        int b = peekByte();
+        while (b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E' || (b >= '0' && b <= '9')) {
+            append((char) buffer.get());
+            b = peekByte();
+        }
+        try {
+            return Double.parseDouble(new String(chars, 0, length));
+        } catch (NumberFormatException e) {
+            throw error("expected a number");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past the next JSON value of any type without keeping it
+    void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            skipContainer();
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            readDouble();
+        } else if (c == 't' || c == 'f' || c == 'n') {
+            while (peekByte() >= 'a' && peekByte() <= 'z') {
+                buffer.get();
+            }
+        } else {
+            throw error("unexpected character");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves to given file position, and returns the position of the first '{' after it that follows a ','
+    //          (with only whitespace between them), or -1 if there is none before the end of the region. Does not
+    //          know whether it started inside a string, so the '{' is only a guess at where an array element starts
+    long findElementAfter(long from) throws IOException {
+        seek(from);
+        for (int b = nextByte(); b != END; b = nextByte()) {
+            if (b == ',' && peek() == '{') {
+                return getPosition();
+            }
+        }
+        return -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves to given file position, so the next byte read is the one there
+    void seek(long position) {
+        this.position = position;
+        buffer.limit(0);
+    }
+
+    // EFFECTS: returns the file position of the next byte to be read
+    long getPosition() {
+        return position - buffer.remaining();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past an object or array, including everything nested in it
+    private void skipContainer() throws IOException {
+        buffer.get();
+        int depth = 1;
+        while (depth > 0) {
+            int c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == END) {
+                throw error("unterminated object or array");
+            } else {
+                buffer.get();
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the character(s) after a backslash in a string and adds what they stand for
+    private void readEscape() throws IOException {
+        int b = nextByte();
+        int shortEscape = SHORT_ESCAPES.indexOf(b);
+        if (b == END) {
+            throw error("unterminated string");
+        } else if (shortEscape >= 0) {
+            append(SHORT_ESCAPE_VALUES.charAt(shortEscape));
+        } else if (b == 'u') {
+            append((char) readHexDigits());
+        } else {
+            append((char) b); // \" \\ and \/ stand for themselves
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the four hex digits of a unicode escape and returns their value
+    private int readHexDigits() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(nextByte(), 16);
+            if (digit < 0) {
+                throw error("invalid unicode escape");
+            }
+            value = value * 16 + digit;
+        }
+        return value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: decodes a UTF-8 character that starts with given lead byte and adds it to scratch space
+    private void readMultiByteCharacter(int lead) throws IOException {
+        int continuationBytes;
+        int codePoint;
+        if ((lead & 0xE0) == 0xC0) {
+            continuationBytes = 1;
+            codePoint = lead & 0x1F;
+        } else if ((lead & 0xF0) == 0xE0) {
+            continuationBytes = 2;
+            codePoint = lead & 0x0F;
+        } else {
+            continuationBytes = 3;
+            codePoint = lead & 0x07;
+        }
+        for (int i = 0; i < continuationBytes; i++) {
+            codePoint = (codePoint << 6) | (nextByte() & 0x3F);
+        }
+        if (Character.isBmpCodePoint(codePoint)) {
+            append((char) codePoint);
+        } else {
+            append(Character.highSurrogate(codePoint));
+            append(Character.lowSurrogate(codePoint));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds given char to scratch space, growing it if needed
+    private void append(char c) {
+        if (length == chars.length) {
+            char[] bigger = new char[chars.length * 2];
+            System.arraycopy(chars, 0, bigger, 0, length);
+            chars = bigger;
+        }
+        chars[length++] = c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next byte without consuming it, or -1 at the end of the region
+    private int peekByte() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return END;
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes and returns the next byte, or -1 at the end of the region
+    private int nextByte() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return END;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads the next part of the region into the buffer. Returns false if nothing is left to load
+    private boolean fill() throws IOException {
+        buffer.clear();
+        buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = channel.read(buffer, position);
+            if (read > 0) {
+                position += read;
+            }
+        }
+        buffer.flip();
+        return buffer.hasRemaining();
+    }
+
+    // EFFECTS: returns an exception describing malformed input near the current position
+    private IOException error(String message) {
+        return new IOException("Malformed save file at byte " + getPosition() + ": " + message);
+    }
+}
@@ -1,58 +1,217 @@
 package persistence;
 
 import model.Inventory;
+import model.InventoryView;
+import model.Product;
 import org.json.JSONObject;
 
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 
 // Writes a JSON save for the inventory
 // Modelled based on the JsonSerializationDemo of CPSC 210
+// The threshold and each product are written to a small buffer as they are visited, and the buffer goes to
+// the file whenever it fills up, so no JSONObject tree or String copy of the whole save is built.
+// The save is written to a temporary file next to the save location, forced to disk, and then moved over the
+// old save, so a crash in the middle of saving never leaves a half-written save behind.
 public class JsonWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SPACES = "                "; // enough indentation for the deepest level
+    private static final int INDENT = 4;
+
+    // The layout of the save file
+    public enum Format {
+        INDENTED, // the same layout as JSONObject.toString(4), which earlier versions of the app saved with
+        COMPACT   // no whitespace at all, for the smallest save files
+    }
+
     private final String saveLocation; // where the save will be located
-    private PrintWriter writer;  // the writer that makes products and inventory -> json file
+    private final Format format; // the layout the save is written in
+    private FileOutputStream file; // the temporary file the save is written to
+    private Writer writer;  // the writer that makes products and inventory -> json file
+    private final StringBuilder buffer; // text that has not been handed to writer yet
+    private char[] chunk; // reusable space for moving text from buffer to writer
 
-    // EFFECTS: constructs a Jsonwriter to write to the given save location
+    // EFFECTS: constructs a Jsonwriter to write to the given save location, with the indented format
     public JsonWriter(String saveLocation) {
+        this(saveLocation, Format.INDENTED);
+    }
+
+    // EFFECTS: constructs a Jsonwriter to write to the given save location in given format
+    public JsonWriter(String saveLocation, Format format) {
         this.saveLocation = saveLocation;
+        this.format = format;
+        this.buffer = new StringBuilder(BUFFER_SIZE + 1024);
+        this.chunk = new char[0];
         // actually needs to be like this for tests :(
     }
 
     // MODIFIES: this
     // EFFECTS: turns on writer, saves the current state of the inventory as a JSON file,
-    // and then closes the writer. Throws FileNotFoundException if the save location is inaccessible
-    public void fullSave(Inventory i) throws FileNotFoundException {
-        open();
-        write(i);
-        close();
+    // and then closes the writer. Throws IOException if the save location is inaccessible
+    // or the file could not be written
+    public void fullSave(Inventory i) throws IOException {
+        fullSave(i.view());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the given view of an inventory as a JSON file, the same way as fullSave(Inventory).
+    //          Can be called from any thread while the inventory keeps changing
+    public void fullSave(InventoryView view) throws IOException {
+        Path target = Paths.get(saveLocation);
+        Path temporary = AtomicFiles.temporaryFor(target);
+        open(temporary);
+        boolean written = false;
+        try {
+            write(view);
+            written = true;
+        } finally {
+            close(written);
+            if (!written) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        AtomicFiles.replace(temporary, target);
     }
 
     // MODIFIES: this
-    // EFFECTS: turns on writer. Throws FileNotFoundException if the save location is inaccessible
+    // EFFECTS: turns on writer, writing to given file. Throws IOException if the file is inaccessible
     // Helper method for fullSave
-    private void open() throws FileNotFoundException {
-        writer = new PrintWriter(saveLocation);
+    private void open(Path temporary) throws IOException {
+        file = new FileOutputStream(temporary.toFile());
+        writer = new OutputStreamWriter(file, StandardCharsets.UTF_8);
+        buffer.setLength(0);
     }
 
     // MODIFIES: this
     // EFFECTS: saves/writes the current state of the inventory to a file
     // Helper method for fullSave
-    private void write(Inventory i) {
-        JSONObject json = i.toJson();               // inventory->json
-        saveToFile(json.toString(4));     //json->string with tab indentation
+    private void write(InventoryView view) throws IOException {
+        buffer.append('{');
+        writeField("threshold", view.getThreshold(), 1);
+        buffer.append(',');
+        newLine(1);
+        writeKey("products");
+        writeProducts(view.getProducts());
+        newLine(0);
+        buffer.append('}');
     }
 
     // MODIFIES: this
-    // EFFECTS: closes the writer
-    // Helper method for fullSave
-    private void close() {
-        writer.close();
+    // EFFECTS: writes the products array. Like JSONArray.toString(4), a single product is written
+    //          right after the opening bracket instead of on its own line.
+    // Helper method for write
+    private void writeProducts(List<Product> products) throws IOException {
+        buffer.append('[');
+        if (products.size() == 1) {
+            writeProduct(products.get(0), 1);
+        } else if (!products.isEmpty()) {
+            for (int p = 0; p < products.size(); p++) {
+                if (p > 0) {
+                    buffer.append(',');
+                }
+                newLine(2);
+                writeProduct(products.get(p), 2);
+                flushIfFull();
+            }
+            newLine(1);
+        }
+        buffer.append(']');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the product as a JSON object whose closing brace is at given indentation level.
+    //          Fields are in the same order as JSONObject puts those of Product.toJson. The available and sold
+    //          quantities are read together, so a sale on another thread cannot split them.
+    // Helper method for writeProducts
+    private void writeProduct(Product p, int level) {
+        long stock = p.getStock();
+        buffer.append('{');
+        writeField("quantityMaximum", p.getQuantityMaximum(), level + 1);
+        buffer.append(',');
+        writeField("quantityAvailable", Product.available(stock), level + 1);
+        buffer.append(',');
+        writeField("cost", JSONObject.numberToString(p.getCost()), level + 1);
+        buffer.append(',');
+        writeField("name", JSONObject.quote(p.getName()), level + 1);
+        buffer.append(',');
+        writeField("quantitySold", Product.sold(stock), level + 1);
+        newLine(level);
+        buffer.append('}');
     }
 
     // MODIFIES: this
-    // EFFECTS: writes given string (which was a JSON object) into the file
-    // Helper method for write, which is a helper for fullSave
-    private void saveToFile(String json) {
-        writer.print(json);
+    // EFFECTS: writes the key and its already formatted JSON value on a new line indented to given level
+    private void writeField(String key, String value, int level) {
+        newLine(level);
+        writeKey(key);
+        buffer.append(value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the key and its whole number value on a new line indented to given level
+    private void writeField(String key, int value, int level) {
+        newLine(level);
+        writeKey(key);
+        buffer.append(value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: hands the buffered text to writer once the buffer holds at least BUFFER_SIZE chars
+    private void flushIfFull() throws IOException {
+        if (buffer.length() >= BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: hands all buffered text to writer
+    private void flush() throws IOException {
+        if (chunk.length < buffer.length()) {
+            chunk = new char[buffer.length()];
+        }
+        buffer.getChars(0, buffer.length(), chunk, 0);
+        writer.write(chunk, 0, buffer.length());
+        buffer.setLength(0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the quoted key (which needs no escaping) and the colon that separates it from its value
+    private void writeKey(String key) {
+        buffer.append('"').append(key).append("\":");
+        if (format == Format.INDENTED) {
+            buffer.append(' ');
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a new line indented to given level. Does nothing in the compact format
+    private void newLine(int level) {
+        if (format == Format.INDENTED) {
+            buffer.append('\n').append(SPACES, 0, level * INDENT);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the save was written completely, hands whatever is still buffered to the writer and forces
+    //          the file to disk. Closes the writer either way
+    // Helper method for fullSave
+    private void close(boolean written) throws IOException {
+        try {
+            if (written) {
+                flush();
+                writer.flush();
+                file.getChannel().force(true);
+            }
+        } finally {
+            writer.close();
+        }
     }
 }
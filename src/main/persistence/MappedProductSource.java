@@ -0,0 +1,87 @@
+package persistence;
+
+import model.Product;
+import model.ProductSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// The products of a memory-mapped binary save (version 2 or later), read one at a time. A product is found
+// by name through the save's name index, comparing the name's bytes in the file, so no product or name is
+// created until the inventory asks for it.
+// Only reads the file with absolute gets, so it can be used from several threads at once.
+class MappedProductSource implements ProductSource {
+    private final ByteBuffer file;
+    private final BinaryLayout layout;
+
+    // REQUIRES: layout is the layout of file, layout.version >= 2 and layout.checkNames(file) passed
+    // EFFECTS: constructs a source for the products in the mapped save
+    MappedProductSource(ByteBuffer file, BinaryLayout layout) {
+        this.file = file;
+        this.layout = layout;
+    }
+
+    @Override
+    public int size() {
+        return layout.count;
+    }
+
+    // EFFECTS: returns the number of the product with given name, or -1 if there is none.
+    //          Follows the name index from the slot the name's hash picks until it finds the name or an empty slot
+    @Override
+    public int indexOf(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int mask = layout.tableSize - 1;
+        int slot = BinaryLayout.hash(name) & mask;
+        for (int probes = 0; probes < layout.tableSize; probes++) {
+            int entry = file.getInt(layout.slots + Integer.BYTES * slot);
+            if (entry <= 0 || entry > layout.count) {
+                return -1;
+            }
+            if (nameEquals(entry - 1, bytes)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public String nameOf(int index) {
+        int start = layout.nameStart(file, index);
+        byte[] name = new byte[layout.nameEnd(file, index) - start];
+        file.get(start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int availableOf(int index) {
+        return file.getInt(layout.availables + Integer.BYTES * index);
+    }
+
+    @Override
+    public int maximumOf(int index) {
+        return file.getInt(layout.maximums + Integer.BYTES * index);
+    }
+
+    @Override
+    public Product load(int index) {
+        return new Product(nameOf(index), maximumOf(index), availableOf(index),
+                file.getInt(layout.solds + Integer.BYTES * index),
+                file.getDouble(layout.costs + Double.BYTES * index));
+    }
+
+    // EFFECTS: returns true if the saved name of product p has exactly the given bytes
+    private boolean nameEquals(int p, byte[] bytes) {
+        int start = layout.nameStart(file, p);
+        if (layout.nameEnd(file, p) - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (file.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package persistence;
+
+import model.Inventory;
+import model.InventoryView;
+import model.ShardedInventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Saves each shard of a ShardedInventory to its own file in one directory, named after the shard
+// ("<shard>.json"), and loads them back. Shards are saved and loaded in parallel: saving only takes a view of each
+// shard on its writer thread, so the shards keep taking changes while their files are written.
+public class ShardedSaves {
+    private final Path directory; // where the shard saves are located
+
+    // EFFECTS: constructs saves kept in the given directory
+    public ShardedSaves(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    // EFFECTS: returns where the save of the named shard is located
+    public String saveLocationOf(String shard) {
+        return directory.resolve(shard + ".json").toString();
+    }
+
+    // EFFECTS: saves every shard to its own file, creating the directory if needed, and returns once all are
+    //          written. Throws IOException if a save could not be written
+    public void save(ShardedInventory inventory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, InventoryView> views = inventory.scatter(Inventory::view).join();
+        try {
+            views.entrySet().parallelStream().forEach(entry -> write(entry.getKey(), entry.getValue()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // REQUIRES: shards is not empty and has no duplicates
+    // EFFECTS: loads a sharded inventory with the given shards, each from its own save. A shard without a save
+    //          starts out empty. Throws IOException if a save exists but could not be read
+    public ShardedInventory load(List<String> shards) throws IOException {
+        Map<String, Inventory> inventories = new LinkedHashMap<>();
+        for (String shard : shards) {
+            inventories.put(shard, null);
+        }
+        try {
+            shards.parallelStream().forEach(shard -> {
+                Inventory inventory = read(shard);
+                synchronized (inventories) {
+                    inventories.put(shard, inventory);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new ShardedInventory(inventories);
+    }
+
+    // EFFECTS: writes the view of the named shard to its save.
+    //          Throws UncheckedIOException if the save could not be written
+    private void write(String shard, InventoryView view) {
+        try {
+            new JsonWriter(saveLocationOf(shard), JsonWriter.Format.COMPACT).fullSave(view);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // EFFECTS: reads the save of the named shard, or returns an empty inventory if it has none.
+    //          Throws UncheckedIOException if the save could not be read
+    private Inventory read(String shard) {
+        String saveLocation = saveLocationOf(shard);
+        if (!Files.exists(Paths.get(saveLocation))) {
+            return new Inventory();
+        }
+        try {
+            return new InventoryReader(saveLocation).read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package persistence;
+
+import model.Inventory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Saves an inventory in the background, on demand or periodically, while it keeps being used.
+// A snapshot takes a view of the inventory (which takes no lock and copies nothing, so sales are never held up
+// for the length of the save) and writes it from a separate thread with JsonWriter, or with BinaryWriter if binary
+// saves were asked for; either replaces the old save in one step. If a journal is given, the journal records
+// that the new save covers are then removed.
+// The view is not frozen: quantities that change while the save is written may or may not be in it. This is
+// safe with a journal because every change made after the journal checkpoint stays in the journal, and
+// replaying it over the save gives back the quantities the inventory has now.
+public class Snapshotter implements Closeable {
+    private final Inventory inventory;
+    private final String saveLocation;
+    private final Journal journal; // the journal to shorten after each snapshot, or null
+    private final boolean binary; // true to write binary saves, false to write JSON saves
+    private final ScheduledExecutorService executor;
+
+    // EFFECTS: constructs a snapshotter that saves given inventory to the save location as JSON, and shortens the
+    //          journal after each snapshot if journal is not null
+    public Snapshotter(Inventory inventory, String saveLocation, Journal journal) {
+        this(inventory, saveLocation, journal, false);
+    }
+
+    // EFFECTS: constructs a snapshotter that saves given inventory to the save location, in the binary format if
+    //          binary is true (see BinaryWriter) and as JSON otherwise, and shortens the journal after each
+    //          snapshot if journal is not null
+    public Snapshotter(Inventory inventory, String saveLocation, Journal journal, boolean binary) {
+        this.inventory = inventory;
+        this.saveLocation = saveLocation;
+        this.journal = journal;
+        this.binary = binary;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "inventory-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // REQUIRES: period > 0
+    // MODIFIES: this
+    // EFFECTS: takes a snapshot every period from now on. A snapshot that fails is tried again at the next period
+    public void startPeriodic(long period, TimeUnit unit) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                takeSnapshot();
+            } catch (IOException e) {
+                // the journal still holds every change, so the next snapshot can catch up
+            }
+        }, period, period, unit);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: takes a snapshot on the background thread and returns right away. The returned future completes
+    //          once the save has replaced the old one (and the journal was shortened), or completes
+    //          exceptionally with the IOException if the snapshot failed
+    public CompletableFuture<Void> snapshot() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                takeSnapshot();
+                done.complete(null);
+            } catch (IOException | RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        return done;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops taking snapshots, after any snapshot already asked for is finished
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EFFECTS: saves a view of the inventory and shortens the journal up to a checkpoint taken before the view.
+    //          Throws IOException if the save or the journal could not be written
+    private void takeSnapshot() throws IOException {
+        long checkpoint = journal == null ? 0 : journal.checkpoint();
+        if (binary) {
+            new BinaryWriter(saveLocation).fullSave(inventory.view());
+        } else {
+            new JsonWriter(saveLocation).fullSave(inventory.view());
+        }
+        if (journal != null) {
+            journal.truncate(checkpoint);
+        }
+    }
+}
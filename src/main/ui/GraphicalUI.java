@@ -4,15 +4,20 @@ import model.Event;
 import model.EventLog;
 import model.Inventory;
 import model.Product;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import persistence.Journal;
+import persistence.Snapshotter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -22,7 +27,12 @@ import static java.awt.event.WindowEvent.WINDOW_CLOSED;
 // The graphical UI of the Inventory Tracking Application.
 // I used McGrath's "JAVA in easy steps, fifth edition" to learn JSwing
 public class GraphicalUI extends JFrame implements ActionListener {
+    private static final long SNAPSHOT_PERIOD_SECONDS = 60;
+
     private Inventory inventory;
+    private Journal journal; // records every change to inventory once it was saved or loaded, otherwise null
+    private Snapshotter snapshotter; // saves inventory in the background, null when journal is null
+    private volatile boolean binarySaves; // true to save in the binary format, false to save as JSON
 
     private final ImageIcon logo = new ImageIcon("src/main/ui/logo.jpg");
     // image is from https://stock.adobe.com/ca/search/images?k=inventory+management+icon
@@ -34,6 +44,10 @@ public class GraphicalUI extends JFrame implements ActionListener {
     private JButton saveInventoryButton;
     private JButton loadInventoryButton;
     private JButton exitAppButton;
+    private JButton cancelButton; // cancels the load in progress
+    private JProgressBar progressBar; // shown while a save or load is in progress
+    private LoadWorker loadWorker; // the load in progress, or null
+    private int saving; // number of saves in progress
 
     private JButton addProductButton;
     private JButton deleteProductButton;
@@ -46,9 +60,11 @@ public class GraphicalUI extends JFrame implements ActionListener {
     private JPanel bottomRowPanel;
     private JPanel viewInventoryPanel;
     private JPanel logoPanel;
+    private LowStockPanel lowStockPanel; // shown instead of the logo, created when first shown
     private JPanel productPanel;
 
     private final String saveLocation = "./data/InventoryTrackingSave.json";
+    private final String journalLocation = "./data/InventoryTrackingJournal.bin";
 
 
     // EFFECTS: runs the graphical UI of the Store Inventory Tracking application with an empty inventory
@@ -92,11 +108,25 @@ public class GraphicalUI extends JFrame implements ActionListener {
     }
 
 
+    // MODIFIES: this
+    // EFFECTS: saves in the binary format from the next save or load on if binary is true (see BinaryWriter), and
+    //          as JSON otherwise. Either format can be loaded
+    public void useBinarySaves(boolean binary) {
+        binarySaves = binary;
+    }
+
     // EFFECTS: creates the application's window
     public void initializeWindow() {
         setSize(850, 400);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setVisible(true);
+        addWindowListener(new WindowAdapter() {
+            // EFFECTS: writes the rest of the journal when the application is closed
+            @Override
+            public void windowClosed(WindowEvent e) {
+                stopJournal();
+            }
+        });
     }
 
     // EFFECTS: Creates buttons for viewing all products
@@ -128,6 +158,36 @@ public class GraphicalUI extends JFrame implements ActionListener {
         bottomRowPanel.add(saveInventoryButton);
         bottomRowPanel.add(loadInventoryButton);
         bottomRowPanel.add(exitAppButton);
+        initializeProgress();
+    }
+
+    // EFFECTS: creates the progress bar and cancel button shown while a save or load is in progress
+    private void initializeProgress() {
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(this);
+        cancelButton.setVisible(false);
+        bottomRowPanel.add(progressBar);
+        bottomRowPanel.add(cancelButton);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the progress bar if a save or load is in progress, with what is in progress, and hides it
+    //          otherwise. The cancel button is only shown while loading, and nothing that changes the inventory
+    //          can be done while loading
+    private void updateProgress() {
+        boolean idle = loadWorker == null;
+        progressBar.setString(idle ? "Saving..." : "Loading...");
+        progressBar.setVisible(!idle || saving > 0);
+        cancelButton.setVisible(!idle);
+        for (JButton button : List.of(saveInventoryButton, loadInventoryButton, addProductButton,
+                deleteProductButton, sellProductButton, restockProductButton)) {
+            button.setEnabled(idle);
+        }
+        bottomRowPanel.revalidate();
     }
 
     // EFFECTS: Shows options relating to individual products
@@ -181,6 +241,9 @@ public class GraphicalUI extends JFrame implements ActionListener {
         if (event.getSource() == exitAppButton) {
             inputtedExitApp();
         }
+        if (event.getSource() == cancelButton && loadWorker != null) {
+            loadWorker.cancelLoad();
+        }
     }
 
     // EFFECTS: shows all the products in the inventory, along with how many there are in stock.
@@ -189,29 +252,24 @@ public class GraphicalUI extends JFrame implements ActionListener {
             JOptionPane.showMessageDialog(this, inventory.toString(),
                     "Inventory", JOptionPane.INFORMATION_MESSAGE);
         } else {
-            JOptionPane.showMessageDialog(this,
-                    "The products in the inventory are:\n" + inventory.toString(),
-                    "Inventory",
-                    JOptionPane.INFORMATION_MESSAGE);
+            new ProductTableDialog(this, inventory).setVisible(true);
         }
     }
 
-    // EFFECTS: shows all low stock products in the inventory, along with how many there are in stock.
+    // MODIFIES: this
+    // EFFECTS: shows the low stock products in the window instead of the logo, and keeps them up to date as the
+    //          inventory changes. If they are already shown, shows the logo again
     private void inputtedViewLowStockProducts() {
-        List<Product> lowStockProducts = inventory.viewLowStockProducts();
-        if (lowStockProducts.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "There are no low stock products!",
-                    "Low-Stock Product Finder", JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            StringBuilder message = new StringBuilder();
-            message.append("Products that are in low stock are:\n");
-            for (Product p: inventory.viewLowStockProducts()) {
-                message.append(p.getName() + " with " + p.getQuantityAvailable() + "/" + p.getQuantityMaximum()
-                        + " units left\n");
-            }
-            JOptionPane.showMessageDialog(this, message.toString(),
-                    "Low-Stock Product Finder", JOptionPane.INFORMATION_MESSAGE);
+        if (lowStockPanel == null) {
+            lowStockPanel = new LowStockPanel();
         }
+        boolean showing = lowStockPanel.getParent() == contentPane;
+        contentPane.remove(showing ? lowStockPanel : logoPanel);
+        contentPane.add(showing ? logoPanel : lowStockPanel, BorderLayout.CENTER);
+        lowStockPanel.setInventory(showing ? null : inventory);
+        viewLowStockProductsButton.setText(showing ? "View low stock products" : "Hide low stock products");
+        contentPane.validate();
+        contentPane.repaint();
     }
 
     // MODIFIES: this
@@ -231,21 +289,33 @@ public class GraphicalUI extends JFrame implements ActionListener {
                     operationCancelled();
                 } else {
                     double productCost = Double.parseDouble(productCostNotParsed);
-                    inventory.addProduct(new Product(productName, productQuantity, productCost));
-                    messageAddProductSuccess(productName);
+                    addProductOrShowError(new Product(productName, productQuantity, productCost));
                 }
             }
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: adds given product to the inventory, or shows an error if a product with the same name exists
+    private void addProductOrShowError(Product product) {
+        try {
+            inventory.addProduct(product);
+            messageAddProductSuccess(product.getName());
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this,
+                    "Error: A product named " + product.getName() + " is already in the inventory.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: deletes the product specified by the user and removes it from the inventory
     private void inputtedDeleteProduct() {
-        String productName = JOptionPane.showInputDialog(this,
+        String productName = promptProductName(
                 "What is the name of the product you want to delete?",
-                "Product Deleter",
-                JOptionPane.PLAIN_MESSAGE);
-        Product toBeDeleted = inventory.findProduct(productName);
+                "Product Deleter");
+        Product toBeDeleted = productName == null ? null : inventory.findProduct(productName);
         if (productName == null) {
             operationCancelled();
         } else if (toBeDeleted == null) {
@@ -263,7 +333,7 @@ public class GraphicalUI extends JFrame implements ActionListener {
     // EFFECTS: sells the product specified by the user.
     private void inputtedSellProduct() {
         String productName = promptSellProductName();
-        Product productToSell = inventory.findProduct(productName);
+        Product productToSell = productName == null ? null : inventory.findProduct(productName);
         checkForInputErrorAndCancel(productName, productToSell);
         if (productToSell != null) {
             String sellQuantityNotParsed = promptSellProductQuantity(productName, productToSell);
@@ -271,8 +341,7 @@ public class GraphicalUI extends JFrame implements ActionListener {
                 operationCancelled();
             } else {
                 int sellQuantity = Integer.parseInt(sellQuantityNotParsed);
-                if (sellQuantity <= productToSell.getQuantityAvailable()) {
-                    productToSell.sell(sellQuantity);
+                if (productToSell.sell(sellQuantity)) {
                     messageSellProductSuccess(productName, sellQuantity);
                 } else {
                     messageSellProductFail();
@@ -284,11 +353,10 @@ public class GraphicalUI extends JFrame implements ActionListener {
     // MODIFIES: this
     // EFFECTS: restocks the product specified by the user, and shows the cost of the restocking.
     private void inputtedRestockProduct() {
-        String productName = JOptionPane.showInputDialog(this,
+        String productName = promptProductName(
                 "What product do you want to restock?",
-                "Product Restocker",
-                JOptionPane.PLAIN_MESSAGE);
-        Product productToRestock = inventory.findProduct(productName);
+                "Product Restocker");
+        Product productToRestock = productName == null ? null : inventory.findProduct(productName);
         checkForInputErrorAndCancel(productName, productToRestock);
         if (productToRestock != null) {
             double priceToRestock = productToRestock.restock(true);
@@ -300,37 +368,136 @@ public class GraphicalUI extends JFrame implements ActionListener {
         }
     }
 
-    // EFFECTS: saves the current state of the inventory and all its products
+    // MODIFIES: this
+    // EFFECTS: saves the current state of the inventory and all its products in the background, and shows
+    //          whether it worked once the save is done. From then on every change is journalled, and the
+    //          inventory is saved again every SNAPSHOT_PERIOD_SECONDS
     private void inputtedSaveInventory() {
-        JsonWriter writer = new JsonWriter(saveLocation);
         try {
-            writer.fullSave(inventory);
-        } catch (FileNotFoundException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Could not find save location: " + saveLocation,
-                    "Saving Error", JOptionPane.ERROR_MESSAGE);
+            if (snapshotter == null) {
+                startJournal();
+            }
+        } catch (IOException e) {
+            messageSaveFail();
+            return;
         }
-        JOptionPane.showMessageDialog(this,
-                "The inventory was successfully saved to: " + saveLocation,
-                "Save Successful", JOptionPane.INFORMATION_MESSAGE);
+        saving++;
+        updateProgress();
+        snapshotter.snapshot().whenComplete((saved, failure) -> SwingUtilities.invokeLater(() -> {
+            saving--;
+            updateProgress();
+            if (failure == null) {
+                JOptionPane.showMessageDialog(this,
+                        "The inventory was successfully saved to: " + saveLocation,
+                        "Save Successful", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                messageSaveFail();
+            }
+        }));
     }
 
     // MODIFIES: this
-    // EFFECTS: loads an inventory from a json file, and overwrites the current inventory
+    // EFFECTS: loads an inventory from the save and the changes journalled since it was saved in the background,
+    //          and replaces the current inventory with it once it is loaded. The current inventory keeps its
+    //          journal, but cannot be changed and is not saved in the background while the load runs
     private void inputtedLoadInventory() {
-        JsonReader reader = new JsonReader(saveLocation);
+        loadWorker = new LoadWorker(snapshotter, journal);
+        updateProgress();
+        loadWorker.execute();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the current inventory with the loaded one and journals it, or shows why the load failed
+    //          and keeps saving the current inventory in the background
+    private void finishLoad(LoadWorker worker) {
+        loadWorker = null;
+        updateProgress();
+        Inventory loaded;
         try {
-            this.inventory = reader.read();
-        } catch (IOException e) {
+            loaded = worker.get();
+        } catch (CancellationException e) {
+            restartSnapshots();
+            operationCancelled();
+            return;
+        } catch (ExecutionException | InterruptedException e) {
+            restartSnapshots();
             JOptionPane.showMessageDialog(this,
                     "Could not find an earlier save in: " + saveLocation,
                     "Loading Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        replaceInventory(loaded);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops journalling the current inventory, then makes loaded the current inventory and journals it
+    private void replaceInventory(Inventory loaded) {
+        stopJournal();
+        inventory = loaded;
+        if (lowStockPanel != null && lowStockPanel.getParent() == contentPane) {
+            lowStockPanel.setInventory(inventory);
+        }
+        try {
+            startJournal();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this,
+                    "Loaded from " + saveLocation + ", but could not open the journal: " + journalLocation
+                            + ". Changes will not be journalled until you save",
+                    "Journal Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
         JOptionPane.showMessageDialog(this,
                 "Loaded from " + saveLocation + " successfully",
                 "Load Successful", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    // MODIFIES: this
+    // EFFECTS: journals every change to the current inventory and saves it in the background every
+    //          SNAPSHOT_PERIOD_SECONDS. Throws IOException if the journal cannot be opened
+    private void startJournal() throws IOException {
+        journal = new Journal(journalLocation);
+        inventory.addObserver(journal);
+        restartSnapshots();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the current inventory in the background every SNAPSHOT_PERIOD_SECONDS with a new snapshotter,
+    //          if it is journalled
+    private void restartSnapshots() {
+        if (journal == null) {
+            return;
+        }
+        snapshotter = new Snapshotter(inventory, saveLocation, journal, binarySaves);
+        snapshotter.startPeriodic(SNAPSHOT_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the background saves and journalling of the current inventory, once everything journalled
+    //          so far is written. Does nothing if the inventory is not being journalled
+    private void stopJournal() {
+        if (journal == null) {
+            return;
+        }
+        inventory.removeObserver(journal);
+        closeJournal(snapshotter, journal);
+        snapshotter = null;
+        journal = null;
+    }
+
+    // EFFECTS: stops the snapshotter and closes the journal, once everything journalled so far is written.
+    //          Does nothing if journal is null
+    private void closeJournal(Snapshotter snapshotter, Journal journal) {
+        if (journal == null) {
+            return;
+        }
+        snapshotter.close();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Could not write the journal: " + journalLocation);
+        }
+    }
+
     // EFFECTS: gives the option to quit the app
     private void inputtedExitApp() {
         int n = JOptionPane.showConfirmDialog(this,
@@ -379,10 +546,28 @@ public class GraphicalUI extends JFrame implements ActionListener {
 
     // EFFECTS: asks user for the name of the product to sell
     private String promptSellProductName() {
-        return JOptionPane.showInputDialog(this,
+        return promptProductName(
                 "What is the name of the product you want to sell?",
-                "Product Seller",
-                JOptionPane.PLAIN_MESSAGE);
+                "Product Seller");
+    }
+
+    // EFFECTS: asks user for the name of a product in a field that suggests names from the inventory as they type.
+    //          Returns null if the user cancelled
+    private String promptProductName(String message, String title) {
+        ProductNameField field = new ProductNameField(inventory.getSearchIndex());
+        JOptionPane pane = new JOptionPane(new Object[] {message, field}, JOptionPane.PLAIN_MESSAGE,
+                JOptionPane.OK_CANCEL_OPTION);
+        JDialog dialog = pane.createDialog(this, title);
+        dialog.addWindowFocusListener(new WindowAdapter() {
+            // EFFECTS: lets the user type right away
+            @Override
+            public void windowGainedFocus(WindowEvent e) {
+                field.requestFocusInWindow();
+            }
+        });
+        dialog.setVisible(true);
+        dialog.dispose();
+        return Integer.valueOf(JOptionPane.OK_OPTION).equals(pane.getValue()) ? field.getText() : null;
     }
 
     // EFFECTS: asks user for the number of units of given product to sell
@@ -410,6 +595,13 @@ public class GraphicalUI extends JFrame implements ActionListener {
                 JOptionPane.ERROR_MESSAGE);
     }
 
+    // EFFECTS: shows error message when the inventory could not be saved
+    private void messageSaveFail() {
+        JOptionPane.showMessageDialog(this,
+                "Could not find save location: " + saveLocation,
+                "Saving Error", JOptionPane.ERROR_MESSAGE);
+    }
+
 
     // prompts and messages for inputtedAddProduct()
 
@@ -442,4 +634,52 @@ public class GraphicalUI extends JFrame implements ActionListener {
         JOptionPane.showMessageDialog(this, productName + " has been added to the inventory!");
     }
 
+
+    // Loads the save and the journal on a background thread, so the window keeps responding however large the
+    // save is. Cancelling interrupts the thread once it reads the files, which stops the reading
+    private class LoadWorker extends SwingWorker<Inventory, Void> {
+        private final Snapshotter oldSnapshotter; // saves the current inventory in the background, or null
+        private final Journal oldJournal; // journals the current inventory, or null
+        private volatile boolean reading; // true once the old journal is written and the files are being read
+
+        // EFFECTS: constructs a load that first stops given snapshotter and writes given journal
+        LoadWorker(Snapshotter oldSnapshotter, Journal oldJournal) {
+            this.oldSnapshotter = oldSnapshotter;
+            this.oldJournal = oldJournal;
+        }
+
+        // EFFECTS: stops the background saves of the current inventory, so they cannot change the files while they
+        //          are read, and waits until its journal is written. Then reads the save and applies the journal
+        //          to it. Throws FileNotFoundException if there is neither a save nor a journal to load, and
+        //          IOException if the old journal could not be written
+        @Override
+        protected Inventory doInBackground() throws IOException {
+            if (oldJournal != null) {
+                oldSnapshotter.close();
+                oldJournal.sync();
+            }
+            reading = true;
+            if (isCancelled()) {
+                return null;
+            }
+            if (!Files.exists(Paths.get(saveLocation)) && !Files.exists(Paths.get(journalLocation))) {
+                throw new FileNotFoundException(saveLocation);
+            }
+            return Journal.recover(saveLocation, journalLocation);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: cancels the load. The thread is only interrupted once it reads the files, so the old journal
+        //          is always written completely
+        void cancelLoad() {
+            cancel(reading);
+        }
+
+        // MODIFIES: GraphicalUI.this
+        // EFFECTS: swaps in the loaded inventory, on the event dispatch thread
+        @Override
+        protected void done() {
+            finishLoad(this);
+        }
+    }
 }
@@ -1,10 +1,9 @@
 package ui;
 
 import model.*;
-import persistence.JsonReader;
+import persistence.InventoryReader;
 import persistence.JsonWriter;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -143,8 +142,12 @@ public class InventoryTrackingApp {
                 + " from the distributor?");
         double productCost = scanner.nextDouble();
         scanner.nextLine();
-        inventory.addProduct(new Product(productName, productQuantity, productCost));
-        System.out.println(productName + " has been added to the inventory!");
+        try {
+            inventory.addProduct(new Product(productName, productQuantity, productCost));
+            System.out.println(productName + " has been added to the inventory!");
+        } catch (IllegalArgumentException e) {
+            System.out.println(productName + " is already in the inventory!");
+        }
     }
 
     // MODIFIES: this
@@ -152,15 +155,9 @@ public class InventoryTrackingApp {
     public void inputtedDelete() {
         System.out.println("What is the name of the product you want to delete?");
         String productName = scanner.nextLine();
-        boolean removed = false;
-        for (Product p : inventory.getProducts()) {
-            if (p.getName().equals(productName)) {
-                inventory.removeProduct(p);
-                removed = true;
-                break;
-            }
-        }
-        if (removed) {
+        Product toBeDeleted = inventory.findProduct(productName);
+        if (toBeDeleted != null) {
+            inventory.removeProduct(toBeDeleted);
             System.out.println("The product " + productName + " has been deleted.");
         } else {
             System.out.println("Could not find " + productName + " in inventory...");
@@ -195,8 +192,7 @@ public class InventoryTrackingApp {
                     + " units left. How many would you like to sell?");
             int sellQuantity = scanner.nextInt();
             scanner.nextLine();
-            if (sellQuantity <= productToSell.getQuantityAvailable()) {
-                productToSell.sell(sellQuantity);
+            if (productToSell.sell(sellQuantity)) {
                 System.out.println("Sold " + sellQuantity + " unit(s) of " + productName + " !");
             } else {
                 System.out.println("You cannot sell more units than you have!");
@@ -240,7 +236,7 @@ public class InventoryTrackingApp {
         JsonWriter writer = new JsonWriter(saveLocation);
         try {
             writer.fullSave(inventory);
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Could not find the save location: " + saveLocation);
         }
         System.out.println("The inventory was successfully saved to" + saveLocation);
@@ -249,7 +245,7 @@ public class InventoryTrackingApp {
     // MODIFIES: this
     // EFFECTS: loads an inventory from a json file, and overwrites the current inventory
     public void inputtedLoad() {
-        JsonReader reader = new JsonReader(saveLocation);
+        InventoryReader reader = new InventoryReader(saveLocation);
         try {
             this.inventory = reader.read();
         } catch (IOException e) {
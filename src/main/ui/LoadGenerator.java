@@ -0,0 +1,151 @@
+package ui;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A load generator for benchmarking a SaleServer on this machine: a number of simulated registers, each on its own
+// connection, sell random products as fast as the server answers, sending commands in batches, and restocking a
+// product whenever it runs out. Prints how many commands per second the server handled.
+// Usage: LoadGenerator [port] [registers] [commands per register] [products] [batch size]
+public class LoadGenerator {
+    private static final String PRODUCT_PREFIX = "Load product ";
+
+    private final int port;
+    private final int products;
+    private final int batchSize;
+    private final AtomicLong commands = new AtomicLong(); // commands answered so far, by every register
+    private final AtomicLong errors = new AtomicLong(); // replies starting with ERR
+
+    // EFFECTS: constructs a load generator for the server on given port, selling given number of products in
+    //          batches of given size
+    public LoadGenerator(int port, int products, int batchSize) {
+        this.port = port;
+        this.products = products;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : SaleServer.DEFAULT_PORT;
+        int registers = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int commandsEach = args.length > 2 ? Integer.parseInt(args[2]) : 200000;
+        int products = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+        LoadGenerator generator = new LoadGenerator(port, products, batchSize);
+        generator.addProducts();
+        long start = System.nanoTime();
+        generator.run(registers, commandsEach);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d commands from %d registers in %.2f s: %.0f commands/s, %d errors%n",
+                generator.commands.get(), registers, seconds, generator.commands.get() / seconds,
+                generator.errors.get());
+    }
+
+    // EFFECTS: adds the products that the registers sell, if the server does not have them yet.
+    //          Throws IOException if the server cannot be reached
+    public void addProducts() throws IOException {
+        List<String> batch = new ArrayList<>(products);
+        for (int p = 0; p < products; p++) {
+            batch.add("add 1000 1.25 " + PRODUCT_PREFIX + p);
+        }
+        try (Connection connection = connect()) {
+            connection.send(batch); // products added by an earlier run are refused, which is fine
+        }
+    }
+
+    // EFFECTS: runs given number of registers at once, each sending given number of sell commands, and waits
+    //          for all of them to finish
+    public void run(int registers, int commandsEach) throws InterruptedException {
+        Thread[] threads = new Thread[registers];
+        for (int r = 0; r < registers; r++) {
+            Random random = new Random(r);
+            threads[r] = new Thread(() -> runRegister(random, commandsEach), "register-" + r);
+            threads[r].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    // EFFECTS: sends count commands in batches on one connection: sales of random products, and a restock of
+    //          every product that could not be sold in the batch before
+    private void runRegister(Random random, int count) {
+        try (Connection connection = connect()) {
+            List<String> restocks = new ArrayList<>();
+            for (int sent = 0; sent < count; ) {
+                List<String> batch = new ArrayList<>(restocks);
+                while (batch.size() < batchSize && sent + batch.size() < count) {
+                    batch.add("sell 1 " + PRODUCT_PREFIX + random.nextInt(products));
+                }
+                sent += batch.size();
+                List<String> replies = connection.send(batch);
+                commands.addAndGet(batch.size());
+                restocks.clear();
+                for (int c = 0; c < batch.size(); c++) {
+                    if (replies.get(c).equals("NO")) {
+                        restocks.add("restock " + batch.get(c).substring("sell 1 ".length()));
+                    } else if (replies.get(c).startsWith("ERR")) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Register lost its connection: " + e.getMessage());
+        }
+    }
+
+    // EFFECTS: opens a connection to the server. Throws IOException if the server cannot be reached
+    private Connection connect() throws IOException {
+        return new Connection(new Socket(InetAddress.getLoopbackAddress(), port));
+    }
+
+    // A connection to the server, with the reader and writer used for its whole life
+    private static final class Connection implements Closeable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        // EFFECTS: constructs a connection over given socket. Throws IOException if the socket is not connected
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        // EFFECTS: sends the commands, then reads and returns one reply per command.
+        //          Throws IOException if the connection fails
+        private List<String> send(List<String> batch) throws IOException {
+            for (String command : batch) {
+                out.write(command);
+                out.write('\n');
+            }
+            out.flush();
+            List<String> replies = new ArrayList<>(batch.size());
+            for (int c = 0; c < batch.size(); c++) {
+                String reply = in.readLine();
+                if (reply == null) {
+                    throw new IOException("the server closed the connection");
+                }
+                replies.add(reply);
+            }
+            return replies;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ui;
+
+import model.Inventory;
+import model.InventoryObserver;
+import model.Product;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.BorderLayout;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// A panel listing the low-stock products of an inventory that keeps itself up to date as the inventory changes.
+// Changes can come from any thread and at any rate: each one only sets a flag and, if no refresh is pending,
+// asks the event dispatch thread for one, so a burst of changes leads to at most one refresh per frame.
+// A refresh only repaints the rows on screen (their cells read the products' current quantities), unless a
+// product started or stopped being low on stock, in which case the list of low-stock products is fetched again.
+public class LowStockPanel extends JPanel implements InventoryObserver {
+    private static final int FRAME_MILLIS = 16; // about 60 refreshes a second at most
+
+    private final ProductTableModel model;
+    private final JTable table;
+    private final JLabel summary;
+    private final Timer frame; // refreshes the panel once it fires, after the frame's changes are in
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final AtomicBoolean listChanged = new AtomicBoolean(); // true if the list must be fetched again
+    private volatile Set<Product> shown = Set.of(); // the products in the list, readable from any thread
+    private volatile boolean fetching; // true from fetching the list until it is published in shown
+    private volatile Inventory inventory; // the inventory shown, or null
+
+    // EFFECTS: constructs an empty panel that shows no inventory yet
+    public LowStockPanel() {
+        super(new BorderLayout());
+        model = new ProductTableModel(List.of());
+        table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        summary = new JLabel();
+        frame = new Timer(FRAME_MILLIS, e -> refresh());
+        frame.setRepeats(false);
+        add(summary, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+    }
+
+    // MODIFIES: this, inventory
+    // EFFECTS: shows the low-stock products of given inventory and follows its changes from now on, instead of
+    //          those of the inventory shown before. Shows nothing and follows nothing if inventory is null.
+    //          Must be called on the event dispatch thread
+    public void setInventory(Inventory inventory) {
+        if (this.inventory != null) {
+            this.inventory.removeObserver(this);
+        }
+        this.inventory = inventory;
+        if (inventory != null) {
+            inventory.addObserver(this);
+        }
+        listChanged.set(true);
+        refresh();
+    }
+
+    @Override
+    public void productAdded(Product product, int quantityAvailable, int quantitySold) {
+        changed(true);
+    }
+
+    @Override
+    public void productRemoved(Product product) {
+        changed(shown.contains(product));
+    }
+
+    // EFFECTS: asks for a refresh. The list is only fetched again if the product is now low on stock but not in
+    //          the list, or the other way around, or if the list is being fetched (since shown may be out of date)
+    @Override
+    public void stockChanged(Product product, int quantityAvailable, int quantitySold) {
+        Inventory current = inventory;
+        boolean low = current != null && current.isLowStock(quantityAvailable, product.getQuantityMaximum());
+        changed(fetching || low != shown.contains(product));
+    }
+
+    @Override
+    public void thresholdChanged(int threshold) {
+        changed(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: notes that the inventory changed, and whether the list of low-stock products must be fetched
+    //          again, and asks for a refresh at the next frame unless one is already pending
+    private void changed(boolean list) {
+        if (list) {
+            listChanged.set(true);
+        }
+        if (refreshPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(frame::restart);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: brings the panel up to date with the inventory. Runs on the event dispatch thread
+    private void refresh() {
+        refreshPending.set(false);
+        if (!listChanged.getAndSet(false)) {
+            table.repaint();
+            return;
+        }
+        fetching = true;
+        List<Product> lowStock = inventory == null ? List.of() : inventory.viewLowStockProducts();
+        Set<Product> nowShown = ConcurrentHashMap.newKeySet(lowStock.size());
+        nowShown.addAll(lowStock);
+        shown = nowShown;
+        fetching = false;
+        model.setProducts(lowStock);
+        summary.setText(inventory == null ? "" : lowStock.size() + " products are at or below "
+                + inventory.getThreshold() + "% of their maximum quantity");
+    }
+}
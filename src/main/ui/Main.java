@@ -1,8 +1,24 @@
 package ui;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the GUI, or with "--server [port]" the headless SaleServer that takes sales from registers.
+// With "--binary" as well, the inventory is saved in the binary format instead of as JSON
 public class Main {
-    public static void main(String[] args) {
+    private static final String SAVE_LOCATION = "./data/InventoryTrackingSave.json";
+    private static final String JOURNAL_LOCATION = "./data/InventoryTrackingJournal.bin";
+
+    public static void main(String[] args) throws IOException {
+        List<String> options = new ArrayList<>(List.of(args));
+        boolean binarySaves = options.remove("--binary");
+        if (!options.isEmpty() && options.get(0).equals("--server")) {
+            int port = options.size() > 1 ? Integer.parseInt(options.get(1)) : SaleServer.DEFAULT_PORT;
+            SaleServer.runHeadless(SAVE_LOCATION, JOURNAL_LOCATION, port, binarySaves);
+            return;
+        }
 //        new InventoryTrackingApp();
-        new GraphicalUI();
+        new GraphicalUI().useBinarySaves(binarySaves);
     }
 }
@@ -0,0 +1,132 @@
+package ui;
+
+import model.ProductSearchIndex;
+
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+// A text field for typing a product name that suggests names from the inventory as the user types: first the
+// names starting with what was typed, then names close to it, so a typo still finds the product.
+// Up and down move through the suggestions, Enter or a click picks one, and Escape hides them.
+public class ProductNameField extends JTextField {
+    private static final int SUGGESTIONS = 8;
+
+    private final ProductSearchIndex index;
+    private final JList<String> suggestionList;
+    private final JPopupMenu popup;
+    private boolean picking; // true while a picked suggestion is put in the field
+
+    // EFFECTS: constructs an empty field that suggests names from given index
+    public ProductNameField(ProductSearchIndex index) {
+        super(25);
+        this.index = index;
+        suggestionList = new JList<>();
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.setFocusable(false);
+        popup = new JPopupMenu();
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(suggestionList));
+        listenForTyping();
+        listenForKeys();
+        suggestionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                pick();
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the suggestions whenever the text changes
+    private void listenForTyping() {
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                suggestLater();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                suggestLater();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                suggestLater();
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves through the suggestions with the arrow keys, picks one with Enter and hides them with Escape
+    private void listenForKeys() {
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                int selected = suggestionList.getSelectedIndex();
+                int last = suggestionList.getModel().getSize() - 1;
+                if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+                    suggestionList.setSelectedIndex(Math.min(selected + 1, last));
+                } else if (e.getKeyCode() == KeyEvent.VK_UP) {
+                    suggestionList.setSelectedIndex(Math.max(selected - 1, 0));
+                } else if (e.getKeyCode() == KeyEvent.VK_ENTER && selected >= 0) {
+                    pick();
+                    e.consume();
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    popup.setVisible(false);
+                    e.consume();
+                }
+            }
+        });
+    }
+
+    // EFFECTS: updates the suggestions once the document has finished changing (it cannot be read while it tells
+    //          its listeners about a change)
+    private void suggestLater() {
+        if (!picking) {
+            SwingUtilities.invokeLater(this::suggest);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the suggestions for the text in the field under it, or hides them if there are none
+    private void suggest() {
+        String typed = getText();
+        List<String> suggestions = typed.isEmpty() ? List.of() : index.suggest(typed, SUGGESTIONS);
+        if (suggestions.isEmpty() || !isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        suggestionList.setListData(suggestions.toArray(new String[0]));
+        suggestionList.setVisibleRowCount(suggestions.size());
+        popup.pack();
+        popup.show(this, 0, getHeight());
+        requestFocusInWindow();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: puts the selected suggestion in the field and hides the suggestions
+    private void pick() {
+        String name = suggestionList.getSelectedValue();
+        if (name != null) {
+            picking = true;
+            setText(name);
+            picking = false;
+        }
+        popup.setVisible(false);
+    }
+}
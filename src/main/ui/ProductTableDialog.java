@@ -0,0 +1,80 @@
+package ui;
+
+import model.Inventory;
+
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.RowFilter;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.TableRowSorter;
+import java.awt.BorderLayout;
+import java.util.regex.Pattern;
+
+// A window listing every product of an inventory in a table that can be sorted by clicking a column header and
+// filtered by name. Opening it and scrolling take the same time however many products there are: the table only
+// draws the rows on screen, and the rows are only sorted or filtered when asked to.
+public class ProductTableDialog extends JDialog {
+    private final ProductTableModel model;
+    private final TableRowSorter<ProductTableModel> sorter;
+    private final JTextField filterField;
+
+    // EFFECTS: constructs a window over the frame showing the products of the inventory
+    public ProductTableDialog(JFrame owner, Inventory inventory) {
+        super(owner, "Inventory", false);
+        model = new ProductTableModel(inventory.getProducts());
+        JTable table = new JTable(model);
+        sorter = new TableRowSorter<>(model);
+        table.setRowSorter(sorter);
+        table.setFillsViewportHeight(true);
+
+        filterField = new JTextField(20);
+        JPanel filterPanel = new JPanel();
+        filterPanel.add(new JLabel("Show products named:"));
+        filterPanel.add(filterField);
+        listenForFilterChanges();
+
+        add(filterPanel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        setSize(600, 400);
+        setLocationRelativeTo(owner);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: updates the filter whenever the text in the filter field changes
+    private void listenForFilterChanges() {
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: only shows the products whose name contains the text in the filter field, ignoring case,
+    //          or every product if the field is empty
+    private void updateFilter() {
+        String text = filterField.getText();
+        if (text.isEmpty()) {
+            sorter.setRowFilter(null);
+        } else {
+            sorter.setRowFilter(RowFilter.regexFilter("(?i)" + Pattern.quote(text), 0));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ui;
+
+import model.Product;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+// The products of an inventory as rows of a JTable. Holds the inventory's read-only product list instead of a
+// copy, and only reads a product's fields when the table asks for a cell, which it only does for the rows on
+// screen. Sorting and filtering are done by the table's row sorter, which keeps its own order of row numbers.
+public class ProductTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Name", "Available", "Maximum", "Sold", "Cost"};
+    private static final Class<?>[] COLUMN_CLASSES = {String.class, Integer.class, Integer.class, Integer.class,
+            Double.class};
+
+    private List<Product> products;
+
+    // EFFECTS: constructs a table model with given products as its rows
+    public ProductTableModel(List<Product> products) {
+        this.products = products;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows given products instead of the current ones
+    public void setProducts(List<Product> products) {
+        this.products = products;
+        fireTableDataChanged();
+    }
+
+    // REQUIRES: 0 <= row < getRowCount()
+    // EFFECTS: returns the product shown in given row of the model
+    public Product getProduct(int row) {
+        return products.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return products.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    // EFFECTS: returns the current value of given column for the product in given row
+    @Override
+    public Object getValueAt(int row, int column) {
+        Product p = products.get(row);
+        switch (column) {
+            case 0:
+                return p.getName();
+            case 1:
+                return p.getQuantityAvailable();
+            case 2:
+                return p.getQuantityMaximum();
+            case 3:
+                return p.getQuantitySold();
+            default:
+                return p.getCost();
+        }
+    }
+}
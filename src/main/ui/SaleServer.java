@@ -0,0 +1,225 @@
+package ui;
+
+import model.Inventory;
+import model.Product;
+import model.StoreInventory;
+import persistence.Journal;
+import persistence.Snapshotter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// A headless server that takes sales from the store's registers over a socket on this machine, without the GUI.
+// Registers send one command per line and get one reply per line, in the same order:
+//   sell <units> <product name>              OK, or NO if there are not enough units available
+//   restock <product name>                   OK <cost of the restock>
+//   add <maximum> <cost> <product name>      OK
+// Any command may instead get "ERR <reason>", e.g. for an unknown product. Registers can send many commands
+// before reading the replies: replies are only flushed once every command received so far is answered.
+// Sales and restocks go through the inventory's own sell and restock, so a ConcurrentInventory orders them with
+// removals under its stripe locks.
+// Each register connection is served on its own virtual thread where the JVM has them (Java 21 and later),
+// and on a thread of a cached pool otherwise. A sale locks only the product sold, and the journal builds its record
+// on the selling thread and only locks to copy it into the next batch, so sales of different products run in parallel.
+public class SaleServer implements Closeable {
+    public static final int DEFAULT_PORT = 7210;
+    private static final long SNAPSHOT_PERIOD_SECONDS = 60;
+
+    private final StoreInventory inventory;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections; // runs one task per register connection
+    private final Set<Socket> open; // register connections that are being served
+    private final Thread acceptor;
+
+    // EFFECTS: constructs a server for given inventory (an Inventory, or a ConcurrentInventory when nothing needs
+    //          to be journalled) that listens on given port of this machine only (0 picks a free port).
+    //          Throws IOException if the port cannot be listened on
+    public SaleServer(StoreInventory inventory, int port) throws IOException {
+        this.inventory = inventory;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.connections = newConnectionExecutor();
+        this.open = ConcurrentHashMap.newKeySet();
+        this.acceptor = new Thread(this::acceptConnections, "sale-server");
+    }
+
+    // EFFECTS: runs the server on given port for the inventory in the save at saveLocation and the journal at
+    //          journalLocation, journalling every change and saving in the background every SNAPSHOT_PERIOD_SECONDS
+    //          (in the binary format if binarySaves is true, and as JSON otherwise), until the JVM is stopped.
+    //          Throws IOException if the save or journal cannot be read, or the port cannot be listened on
+    public static void runHeadless(String saveLocation, String journalLocation, int port, boolean binarySaves)
+            throws IOException {
+        Inventory inventory = Journal.recover(saveLocation, journalLocation);
+        Journal journal = new Journal(journalLocation);
+        inventory.addObserver(journal);
+        Snapshotter snapshotter = new Snapshotter(inventory, saveLocation, journal, binarySaves);
+        snapshotter.startPeriodic(SNAPSHOT_PERIOD_SECONDS, TimeUnit.SECONDS);
+        SaleServer server = new SaleServer(inventory, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            snapshotter.close();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Could not write the journal: " + journalLocation);
+            }
+        }));
+        server.start();
+        System.out.println("Taking sales for " + inventory.getProducts().size() + " products on port "
+                + server.getPort());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts accepting register connections on a thread of its own
+    public void start() {
+        acceptor.start();
+    }
+
+    // EFFECTS: returns the port the server listens on
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops accepting connections and closes every open one
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // nothing more to close
+        }
+        for (Socket socket : open) {
+            closeQuietly(socket);
+        }
+        connections.shutdown();
+    }
+
+    // EFFECTS: accepts register connections and serves each on its own task, until the server is closed
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                open.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return; // the server was closed
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: answers every command the register sends, until it disconnects or the server is closed. Replies are
+    //          flushed once no more commands are waiting, so a register sending a batch gets all replies at once
+    private void serve(Socket socket) {
+        try {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), UTF_8));
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                out.write(execute(line));
+                out.write('\n');
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // the register disconnected
+        } finally {
+            open.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carries out one command line and returns the reply
+    String execute(String line) {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String arguments = space < 0 ? "" : line.substring(space + 1);
+        try {
+            switch (command) {
+                case "sell":
+                    return sell(arguments);
+                case "restock":
+                    return restock(arguments);
+                case "add":
+                    return add(arguments);
+                default:
+                    return "ERR unknown command: " + command;
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return "ERR badly formed command: " + line;
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carries out "sell <units> <product name>"
+    private String sell(String arguments) {
+        int space = arguments.indexOf(' ');
+        int units = Integer.parseInt(arguments.substring(0, space));
+        if (units < 0) {
+            throw new IllegalArgumentException("cannot sell " + units + " units");
+        }
+        return inventory.sell(arguments.substring(space + 1), units) ? "OK" : "NO";
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carries out "restock <product name>"
+    private String restock(String arguments) {
+        return "OK " + inventory.restock(arguments);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carries out "add <maximum> <cost> <product name>"
+    private String add(String arguments) {
+        String[] parts = arguments.split(" ", 3);
+        int maximum = Integer.parseInt(parts[0]);
+        double cost = Double.parseDouble(parts[1]);
+        if (maximum <= 0 || !(cost > 0)) {
+            throw new IllegalArgumentException("maximum and cost must be positive");
+        }
+        inventory.addProduct(new Product(parts[2], maximum, cost));
+        return "OK";
+    }
+
+    // EFFECTS: returns an executor that starts a virtual thread per task where the JVM has them (looked up by
+    //          reflection, so the app still runs on Java 17), and otherwise a cached pool of daemon threads
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "sale-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // EFFECTS: closes the socket, ignoring any error
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for ConcurrentInventory: single-threaded behaviour, then invariants that must hold however the
+// threads of each test interleave
+public class ConcurrentInventoryTest {
+    private static final int THREADS = 8;
+
+    private ConcurrentInventory inventory;
+    private Product apples;
+    private Product pens;
+
+    @BeforeEach
+    void runBefore() {
+        inventory = new ConcurrentInventory();
+        apples = new Product("Apples", 50, 2.00);
+        pens = new Product("Pens", 20, 0.25);
+        inventory.addProduct(apples);
+        inventory.addProduct(pens);
+    }
+
+    // EFFECTS: helper that runs task on THREADS threads, all started at the same moment, and waits for all of
+    //          them. Each thread gets its own number, from 0 to THREADS - 1
+    private void runOnThreads(ThreadTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int number = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(number);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    // EFFECTS: helper that sells one unit of the product with given name and returns true if it was sold, or
+    //          returns false if it is out of stock or was removed
+    private boolean sellIfThere(String productName) {
+        try {
+            return inventory.sell(productName, 1);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // A task run by each thread of runOnThreads
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(15, new ConcurrentInventory(1).getThreshold());
+        assertEquals(0, new ConcurrentInventory(1).size());
+    }
+
+    @Test
+    void testAddFindAndRemove() {
+        assertEquals(List.of(apples, pens), inventory.getProducts());
+        assertSame(pens, inventory.findProduct("Pens"));
+        assertNull(inventory.findProduct("Books"));
+        assertThrows(IllegalArgumentException.class, () -> inventory.addProduct(new Product("Pens", 5, 1.00)));
+        assertTrue(inventory.removeProduct(pens));
+        assertFalse(inventory.removeProduct(pens));
+        assertNull(inventory.findProduct("Pens"));
+        assertEquals(1, inventory.size());
+    }
+
+    @Test
+    void testProductsInOrderAdded() {
+        Product books = new Product("Books", 20, 1.35);
+        Product paper = new Product("Paper", 10, 1.00);
+        StoreInventory store = inventory;
+        store.addProduct(paper);
+        store.addProduct(books);
+        inventory.removeProduct(apples);
+        assertEquals(List.of(pens, paper, books), store.getProducts());
+        paper.sell(10);
+        pens.sell(20);
+        assertEquals(List.of(pens, paper), store.viewLowStockProducts());
+    }
+
+    @Test
+    void testSellAndRestock() {
+        assertTrue(inventory.sell("Apples", 45));
+        assertFalse(inventory.sell("Apples", 6));
+        assertThrows(IllegalArgumentException.class, () -> inventory.sell("Books", 1));
+        assertEquals(List.of(apples), inventory.viewLowStockProducts());
+        inventory.setThreshold(5);
+        assertTrue(inventory.viewLowStockProducts().isEmpty());
+        assertEquals(90.0, inventory.restock("Apples"));
+        assertEquals(50, apples.getQuantityAvailable());
+        assertThrows(IllegalArgumentException.class, () -> inventory.restock("Books"));
+        assertEquals(2, inventory.view().getProducts().size());
+        assertEquals(5, inventory.view().getThreshold());
+    }
+
+    @Test
+    void testConcurrentAddsOfDifferentProducts() throws InterruptedException {
+        runOnThreads(thread -> {
+            for (int i = 0; i < 1000; i++) {
+                inventory.addProduct(new Product("Product " + thread + "-" + i, 10, 1.00));
+            }
+        });
+        assertEquals(2 + THREADS * 1000, inventory.size());
+        assertEquals(inventory.size(), inventory.getProducts().size());
+        assertNotNull(inventory.findProduct("Product 3-999"));
+    }
+
+    @Test
+    void testConcurrentAddsOfSameNameOnlyOneWins() throws InterruptedException {
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        runOnThreads(thread -> {
+            for (int i = 0; i < 1000; i++) {
+                try {
+                    inventory.addProduct(new Product("Product " + i, 10, 1.00));
+                    added.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    refused.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(1000, added.get());
+        assertEquals((THREADS - 1) * 1000, refused.get());
+        assertEquals(1002, inventory.size());
+    }
+
+    @Test
+    void testConcurrentSellsOnDisjointProductsNeverOversell() throws InterruptedException {
+        for (int t = 0; t < THREADS; t++) {
+            inventory.addProduct(new Product("Register " + t, 10000, 1.00));
+        }
+        AtomicInteger unitsSold = new AtomicInteger();
+        runOnThreads(thread -> {
+            for (int i = 0; i < 6000; i++) {
+                if (inventory.sell("Register " + thread, 2)) {
+                    unitsSold.addAndGet(2);
+                }
+                inventory.sell("Apples", 1);
+            }
+        });
+        assertEquals(THREADS * 10000, unitsSold.get());
+        for (int t = 0; t < THREADS; t++) {
+            assertEquals(0, inventory.findProduct("Register " + t).getQuantityAvailable());
+        }
+        assertEquals(50, apples.getQuantitySold());
+    }
+
+    @Test
+    void testNoSaleAfterRemoval() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            inventory.addProduct(new Product("Product " + i, 1000000, 1.00));
+        }
+        Set<Integer> removed = new HashSet<>(); // only changed by thread 0
+        AtomicInteger salesAfterRemoval = new AtomicInteger();
+        runOnThreads(thread -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 200; i++) {
+                    if (thread == 0 && round == 10 && i % 2 == 0) {
+                        Product p = inventory.findProduct("Product " + i);
+                        inventory.removeProduct(p);
+                        int soldWhenRemoved = p.getQuantitySold();
+                        if (sellIfThere("Product " + i) || p.getQuantitySold() != soldWhenRemoved) {
+                            salesAfterRemoval.incrementAndGet();
+                        }
+                        removed.add(i);
+                    } else {
+                        sellIfThere("Product " + i);
+                    }
+                }
+            }
+        });
+        assertEquals(100, removed.size());
+        assertEquals(0, salesAfterRemoval.get());
+        assertEquals(102, inventory.size());
+        for (Product p : inventory.getProducts()) {
+            assertEquals(p.getQuantityMaximum(), p.getQuantityAvailable() + p.getQuantitySold());
+        }
+    }
+
+    @Test
+    void testReadsDuringChurn() throws InterruptedException {
+        AtomicInteger missing = new AtomicInteger();
+        runOnThreads(thread -> {
+            for (int i = 0; i < 2000; i++) {
+                if (thread % 2 == 0) {
+                    Product p = new Product("Churn " + thread + "-" + i, 10, 1.00);
+                    inventory.addProduct(p);
+                    inventory.removeProduct(p);
+                } else if (inventory.findProduct("Apples") == null || inventory.getProducts().size() < 2) {
+                    missing.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(0, missing.get());
+        assertEquals(List.of(apples, pens), inventory.getProducts());
+    }
+}
@@ -1,9 +1,13 @@
 package model;
 
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -24,12 +28,34 @@ public class EventLogTest {
         e1 = new Event("A1");
         e2 = new Event("A2");
         e3 = new Event("A3");
+        restoreDefaultLog();
         EventLog el = EventLog.getInstance();
         el.logEvent(e1);
         el.logEvent(e2);
         el.logEvent(e3);
     }
 
+    @AfterEach
+    public void restoreDefaultLog() {
+        EventLog.getInstance().configure(EventLog.DEFAULT_CAPACITY, EventLog.OverflowPolicy.OVERWRITE_OLDEST, null);
+    }
+
+    // EFFECTS: helper that returns the descriptions of all events currently in the log, oldest first
+    private List<String> descriptions() {
+        List<String> l = new ArrayList<>();
+        for (Event next : EventLog.getInstance()) {
+            l.add(next.getDescription());
+        }
+        return l;
+    }
+
+    // EFFECTS: helper that logs events with descriptions "0" up to (but not including) "n"
+    private void logNumberedEvents(int n) {
+        for (int i = 0; i < n; i++) {
+            EventLog.getInstance().logEvent(new Event(Integer.toString(i)));
+        }
+    }
+
     @Test
     public void testLogEvent() {
         List<Event> l = new ArrayList<>();
@@ -53,4 +79,127 @@ public class EventLogTest {
         assertEquals("Event log cleared.", itr.next().getDescription());
         assertFalse(itr.hasNext());
     }
+
+    @Test
+    public void testConfigureRoundsUpCapacityAndDiscardsEvents() {
+        EventLog el = EventLog.getInstance();
+        el.configure(5, EventLog.OverflowPolicy.DROP_NEWEST, null);
+        assertEquals(8, el.getCapacity());
+        assertEquals(EventLog.OverflowPolicy.DROP_NEWEST, el.getOverflowPolicy());
+        assertFalse(el.iterator().hasNext());
+    }
+
+    @Test
+    public void testOverwriteOldestKeepsNewestEvents() {
+        EventLog el = EventLog.getInstance();
+        el.configure(4, EventLog.OverflowPolicy.OVERWRITE_OLDEST, null);
+        logNumberedEvents(10);
+        assertEquals(List.of("6", "7", "8", "9"), descriptions());
+        assertEquals(6, el.getDroppedCount());
+    }
+
+    @Test
+    public void testDropNewestKeepsOldestEvents() {
+        EventLog el = EventLog.getInstance();
+        el.configure(4, EventLog.OverflowPolicy.DROP_NEWEST, null);
+        logNumberedEvents(10);
+        assertEquals(List.of("0", "1", "2", "3"), descriptions());
+        assertEquals(6, el.getDroppedCount());
+
+        el.clear();
+        assertEquals(List.of("Event log cleared."), descriptions());
+    }
+
+    @Test
+    public void testSpillToDiskWritesEvictedEvents() throws IOException {
+        Path spillFile = Files.createTempFile("eventlog", ".txt");
+        try {
+            EventLog el = EventLog.getInstance();
+            el.configure(4, EventLog.OverflowPolicy.SPILL_TO_DISK, spillFile);
+            logNumberedEvents(7);
+            assertEquals(List.of("3", "4", "5", "6"), descriptions());
+            assertEquals(3, el.getSpilledCount());
+            assertEquals(0, el.getDroppedCount());
+
+            restoreDefaultLog(); // closes the spill file
+            List<String> lines = Files.readAllLines(spillFile);
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(0).endsWith("\t0"));
+            assertTrue(lines.get(2).endsWith("\t2"));
+        } finally {
+            Files.delete(spillFile);
+        }
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        EventLog el = EventLog.getInstance();
+        Iterator<Event> itr = el.iterator();
+        el.logEvent(new Event("A4"));
+        int count = 0;
+        while (itr.hasNext()) {
+            assertNotEquals("A4", itr.next().getDescription());
+            count++;
+        }
+        assertEquals(3, count);
+    }
+
+    @Test
+    public void testConcurrentLogging() throws InterruptedException {
+        EventLog el = EventLog.getInstance();
+        el.configure(1024, EventLog.OverflowPolicy.OVERWRITE_OLDEST, null);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> logNumberedEvents(10000));
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1024, descriptions().size());
+        assertEquals(8 * 10000 - 1024, el.getDroppedCount());
+    }
+
+    @Test
+    public void testRecord() {
+        EventLog el = EventLog.getInstance();
+        el.clear();
+        long before = System.currentTimeMillis();
+        el.record(EventType.PRODUCT_SOLD, 42);
+        long after = System.currentTimeMillis();
+
+        Iterator<Event> itr = el.iterator();
+        itr.next(); // the clear event
+        Event recorded = itr.next();
+        assertEquals("Product sold", recorded.getDescription());
+        assertEquals(42, recorded.getProductId());
+        assertTrue(recorded.getDate().getTime() >= before - 1);
+        assertTrue(recorded.getDate().getTime() <= after + 1);
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testRecordFromProductAndInventory() {
+        EventLog el = EventLog.getInstance();
+        el.clear();
+        Product p = new Product("Pears", 10, 1.00);
+        Inventory i = new Inventory();
+        i.addProduct(p);
+        p.sell(3);
+        p.restock(true);
+        i.removeProduct(p);
+
+        List<Event> events = new ArrayList<>();
+        for (Event next : el) {
+            events.add(next);
+        }
+        assertEquals(5, events.size());
+        assertEquals(EventType.PRODUCT_ADDED.getDescription(), events.get(1).getDescription());
+        assertEquals(EventType.PRODUCT_SOLD.getDescription(), events.get(2).getDescription());
+        assertEquals(EventType.PRODUCT_RESTOCKED.getDescription(), events.get(3).getDescription());
+        assertEquals(EventType.PRODUCT_DELETED.getDescription(), events.get(4).getDescription());
+        for (int e = 1; e < events.size(); e++) {
+            assertEquals(p.getId(), events.get(e).getProductId());
+        }
+    }
 }
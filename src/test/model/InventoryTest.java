@@ -3,7 +3,14 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,6 +51,54 @@ public class InventoryTest {
         assertEquals(p2, testInventory.getProducts().get(1));
     }
 
+    @Test
+    void testGetProductsNeverChanges() {
+        testInventory.addProduct(p1);
+        List<Product> before = testInventory.getProducts();
+        InventoryView view = testInventory.view();
+        testInventory.addProduct(p2);
+        testInventory.removeProduct(p1);
+        assertEquals(List.of(p1), before);
+        assertEquals(List.of(p1), view.getProducts());
+        assertEquals(List.of(p2), testInventory.getProducts());
+        assertSame(testInventory.getProducts(), testInventory.getProducts());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(p3));
+    }
+
+    @Test
+    void testAddAndRemoveLargeCatalog() {
+        // copying the product list on every change would take minutes here
+        Product[] added = new Product[200000];
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < added.length; i++) {
+                added[i] = new Product("Product " + i, 10, 1.0);
+                testInventory.addProduct(added[i]);
+            }
+            for (int i = 0; i < added.length; i += 2) {
+                testInventory.removeProduct(added[i]);
+            }
+        });
+        List<Product> products = testInventory.getProducts();
+        assertEquals(added.length / 2, products.size());
+        assertSame(added[1], products.get(0));
+        assertSame(added[added.length - 1], products.get(products.size() - 1));
+        EventLog.getInstance().clear();
+    }
+
+    @Test
+    void testSellAndRestockByName() {
+        testInventory.addProduct(p1);
+        StoreInventory store = testInventory;
+        assertTrue(store.sell("Apples", 45));
+        assertFalse(store.sell("Apples", 6));
+        assertEquals(List.of(p1), store.viewLowStockProducts());
+        assertEquals(90.0, store.restock("Apples"));
+        assertEquals(50, p1.getQuantityAvailable());
+        assertTrue(store.viewLowStockProducts().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.sell("Pens", 1));
+        assertThrows(IllegalArgumentException.class, () -> store.restock("Pens"));
+    }
+
     @Test
     void testRemoveProductOnce() {
         testInventory.addProduct(p1);
@@ -69,6 +124,43 @@ public class InventoryTest {
         assertFalse(testInventory.getProducts().contains(p3));
     }
 
+    @Test
+    void testAddProductWithDuplicateName() {
+        testInventory.addProduct(p1);
+        try {
+            testInventory.addProduct(new Product("Apples", 10, 1.00));
+            fail("IllegalArgumentException was not thrown, but it should have been");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(1, testInventory.getProducts().size());
+        assertEquals(p1, testInventory.findProduct("Apples"));
+    }
+
+    @Test
+    void testRemoveProductKeepsInsertionOrder() {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        testInventory.addProduct(p3);
+        testInventory.removeProduct(p2);
+
+        List<Product> products = testInventory.getProducts();
+        assertEquals(2, products.size());
+        assertEquals(p1, products.get(0));
+        assertEquals(p3, products.get(1));
+        assertNull(testInventory.findProduct("Pens"));
+    }
+
+    @Test
+    void testRemoveProductThenAddSameName() {
+        testInventory.addProduct(p1);
+        testInventory.removeProduct(p1);
+        Product newApples = new Product("Apples", 10, 3.00);
+        testInventory.addProduct(newApples);
+        assertEquals(newApples, testInventory.findProduct("Apples"));
+        assertEquals(1, testInventory.getProducts().size());
+    }
+
     @Test
     void testViewLowStockProductsWithFullProduct() {
         testInventory.addProduct(p1);
@@ -115,6 +207,21 @@ public class InventoryTest {
         assertTrue(result.contains(p3));
     }
 
+    @Test
+    void testViewLowStockProductsInProductOrder() {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        testInventory.addProduct(p3);
+        p3.sell(19);
+        p1.sell(45);
+        p2.sell(15);
+        assertEquals(List.of(p1, p2, p3), testInventory.viewLowStockProducts());
+        testInventory.removeProduct(p1);
+        testInventory.addProduct(p1);
+        assertEquals(List.of(p2, p3, p1), testInventory.viewLowStockProducts());
+        assertEquals(List.of(p2, p3, p1), testInventory.getProducts());
+    }
+
     @Test
     void testViewLowStockProductsWithProductOnTheThreshold() {
         testInventory.addProduct(p3);
@@ -125,6 +232,158 @@ public class InventoryTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testViewLowStockProductsAfterRestock() {
+        testInventory.addProduct(p2);
+        p2.sell(15);
+        assertEquals(1, testInventory.viewLowStockProducts().size());
+
+        p2.restock(true);
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+    }
+
+    @Test
+    void testViewLowStockProductsAfterRemoveProduct() {
+        testInventory.addProduct(p2);
+        p2.sell(15);
+        testInventory.removeProduct(p2);
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+
+        p2.restock(true);
+        p2.sell(15);
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+    }
+
+    @Test
+    void testViewLowStockProductsWhenThresholdChanges() {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p3);
+        p1.sell(30);    // 20/50 = 40%
+        p3.sell(9);     // 11/20 = 55%
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+
+        testInventory.setThreshold(55);
+        List<Product> result = testInventory.viewLowStockProducts();
+        assertEquals(2, result.size());
+        assertTrue(result.contains(p1));
+        assertTrue(result.contains(p3));
+
+        testInventory.setThreshold(40);
+        result = testInventory.viewLowStockProducts();
+        assertEquals(1, result.size());
+        assertEquals(p1, result.get(0));
+    }
+
+    @Test
+    void testViewLowStockProductsAfterConcurrentSales() throws InterruptedException {
+        Product[] products = new Product[50];
+        for (int p = 0; p < products.length; p++) {
+            products[p] = new Product("Product " + p, 100, 1.00);
+            testInventory.addProduct(products[p]);
+        }
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    products[i % products.length].sell(1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // every product was sold 160 times but only had 100 units, so all of them are out of stock
+        assertEquals(50, testInventory.viewLowStockProducts().size());
+        for (Product p : products) {
+            assertEquals(0, p.getQuantityAvailable());
+        }
+    }
+
+    @Test
+    void testSellBasket() {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        testInventory.addProduct(p3);
+        Map<String, Integer> basket = new LinkedHashMap<>();
+        basket.put("Apples", 10);
+        basket.put("Pens", 15);
+        EventLog.getInstance().clear();
+
+        assertTrue(testInventory.sellBasket(basket));
+        assertEquals(40, p1.getQuantityAvailable());
+        assertEquals(10, p1.getQuantitySold());
+        assertEquals(0, p2.getQuantityAvailable());
+        assertEquals(20, p3.getQuantityAvailable());
+        assertEquals(List.of(p2), testInventory.viewLowStockProducts());
+
+        Iterator<Event> events = EventLog.getInstance().iterator();
+        events.next(); // the clear event
+        for (Product sold : List.of(p1, p2)) {
+            Event event = events.next();
+            assertEquals(EventType.PRODUCT_SOLD.getDescription(), event.getDescription());
+            assertEquals(sold.getId(), event.getProductId());
+        }
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void testSellBasketWithUnknownProduct() {
+        testInventory.addProduct(p1);
+        Map<String, Integer> basket = new HashMap<>();
+        basket.put("Apples", 10);
+        basket.put("The Invisible Product", 1);
+
+        assertFalse(testInventory.sellBasket(basket));
+        assertEquals(50, p1.getQuantityAvailable());
+        assertEquals(0, p1.getQuantitySold());
+    }
+
+    @Test
+    void testSellBasketWithNotEnoughUnits() {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        Map<String, Integer> basket = new HashMap<>();
+        basket.put("Apples", 10);
+        basket.put("Pens", 16);
+        EventLog.getInstance().clear();
+
+        assertFalse(testInventory.sellBasket(basket));
+        assertEquals(50, p1.getQuantityAvailable());
+        assertEquals(15, p2.getQuantityAvailable());
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+        Iterator<Event> events = EventLog.getInstance().iterator();
+        events.next(); // the clear event
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void testSellBasketConcurrentlyIsAllOrNothing() throws InterruptedException {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        Map<String, Integer> basket = new HashMap<>();
+        basket.put("Apples", 3);
+        basket.put("Pens", 1);
+        int[] basketsSold = new int[4];
+        Thread[] threads = new Thread[basketsSold.length];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    basketsSold[thread] += testInventory.sellBasket(basket) ? 1 : 0;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = basketsSold[0] + basketsSold[1] + basketsSold[2] + basketsSold[3];
+        assertEquals(15, total); // limited by the 15 pens
+        assertEquals(50 - 3 * total, p1.getQuantityAvailable());
+        assertEquals(0, p2.getQuantityAvailable());
+    }
+
     @Test
     void testFindProduct() {
         testInventory.addProduct(p1);
@@ -179,4 +438,312 @@ public class InventoryTest {
     }
 
 
+
+    @Test
+    void testRestockReport() {
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        testInventory.addProduct(p3);
+        p1.sell(45);
+        p3.sell(10);
+        RestockReport report = testInventory.restockReport(5);
+        assertEquals(103.5, report.getTotalCost(), 1e-9);
+        assertEquals(90.0, report.getLowStockCost(), 1e-9);
+        assertEquals(List.of(p1, p3, p2), report.getMostExpensive());
+    }
+
+    @Test
+    void testRestockReportLargeInventory() {
+        double expected = 0;
+        for (int p = 0; p < Inventory.PARALLEL_REPORT_MIN_PRODUCTS; p++) {
+            Product product = new Product("Product " + p, 10, 0.5);
+            testInventory.addProduct(product);
+            product.sell(p % 10);
+            expected += (p % 10) * 0.5;
+        }
+        RestockReport report = testInventory.restockReport(1);
+        assertEquals(expected, report.getTotalCost(), 1e-6);
+        assertEquals("Product 9", report.getMostExpensive().get(0).getName());
+    }
+
+    @Test
+    void testObserver() {
+        List<String> changes = new ArrayList<>();
+        testInventory.addObserver(new InventoryObserver() {
+            @Override
+            public void productAdded(Product product, int quantityAvailable, int quantitySold) {
+                changes.add("add " + product.getName() + " " + quantityAvailable + " " + quantitySold);
+            }
+
+            @Override
+            public void productRemoved(Product product) {
+                changes.add("remove " + product.getName());
+            }
+
+            @Override
+            public void stockChanged(Product product, int quantityAvailable, int quantitySold) {
+                changes.add("stock " + product.getName() + " " + quantityAvailable + " " + quantitySold);
+            }
+
+            @Override
+            public void thresholdChanged(int threshold) {
+                changes.add("threshold " + threshold);
+            }
+        });
+        testInventory.addProduct(p1);
+        testInventory.addProduct(p2);
+        p1.sell(10);
+        p1.restock(true);
+        testInventory.sellBasket(Map.of("Pens", 5));
+        testInventory.setThreshold(40);
+        testInventory.removeProduct(p2);
+        p2.sell(1);
+        assertEquals(List.of("add Apples 50 0", "add Pens 15 0", "stock Apples 40 10", "stock Apples 50 0",
+                "stock Pens 10 5", "threshold 40", "remove Pens"), changes);
+    }
+
+    // A save held in a list, that counts how many products were loaded from it
+    private static class ListSource implements ProductSource {
+        private final List<Product> saved;
+        private int loads;
+
+        ListSource(Product... saved) {
+            this.saved = List.of(saved);
+        }
+
+        @Override
+        public int size() {
+            return saved.size();
+        }
+
+        @Override
+        public int indexOf(String name) {
+            for (int i = 0; i < saved.size(); i++) {
+                if (saved.get(i).getName().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public String nameOf(int index) {
+            return saved.get(index).getName();
+        }
+
+        @Override
+        public int availableOf(int index) {
+            return saved.get(index).getQuantityAvailable();
+        }
+
+        @Override
+        public int maximumOf(int index) {
+            return saved.get(index).getQuantityMaximum();
+        }
+
+        @Override
+        public Product load(int index) {
+            loads++;
+            Product p = saved.get(index);
+            return new Product(p.getName(), p.getQuantityMaximum(), p.getQuantityAvailable(), p.getQuantitySold(),
+                    p.getCost());
+        }
+    }
+
+    @Test
+    void testSavedProductsLoadedWhenFound() {
+        p1.takeUnits(45);
+        ListSource source = new ListSource(p1, p2, p3);
+        Inventory lazy = new Inventory(source, 20);
+        assertEquals(0, source.loads);
+        Product apples = lazy.findProduct("Apples");
+        assertEquals(1, source.loads);
+        assertEquals(5, apples.getQuantityAvailable());
+        assertEquals(45, apples.getQuantitySold());
+        assertEquals(lazy, apples.getInventory());
+        assertSame(apples, lazy.findProduct("Apples"));
+        assertNull(lazy.findProduct("Oranges"));
+        assertEquals(1, source.loads);
+        assertTrue(lazy.sellBasket(Map.of("Pens", 5)));
+        assertEquals(2, source.loads);
+        assertEquals(10, lazy.findProduct("Pens").getQuantityAvailable());
+        assertEquals(List.of(apples), lazy.viewLowStockProducts());
+        assertEquals(2, source.loads);
+        assertEquals(3, lazy.getProducts().size());
+        assertEquals(3, source.loads);
+    }
+
+    @Test
+    void testSavedProductsOnlyLowStockLoadedForView() {
+        p1.takeUnits(10);
+        p3.takeUnits(19);
+        ListSource source = new ListSource(p1, p2, p3);
+        Inventory lazy = new Inventory(source, 15);
+        List<Product> lowStock = lazy.viewLowStockProducts();
+        assertEquals(1, source.loads);
+        assertEquals(1, lowStock.size());
+        assertEquals("Books", lowStock.get(0).getName());
+        assertSame(lowStock.get(0), lazy.findProduct("Books"));
+        lazy.setThreshold(80);
+        assertEquals(1, source.loads);
+        assertEquals(List.of("Apples", "Books"),
+                lazy.viewLowStockProducts().stream().map(Product::getName).collect(Collectors.toList()));
+        assertEquals(2, source.loads);
+    }
+
+    @Test
+    void testSearchIndexLoadsNoSavedProducts() {
+        ListSource source = new ListSource(p1, p2, p3);
+        Inventory lazy = new Inventory(source, 15);
+        lazy.removeProduct(lazy.findProduct("Pens"));
+        lazy.addProduct(new Product("Paper", 10, 1.00));
+        ProductSearchIndex index = lazy.getSearchIndex();
+        assertEquals(1, source.loads);
+        assertEquals(List.of("Apples", "Books", "Paper"), index.startingWith("", 10));
+    }
+
+    @Test
+    void testSavedProductsKeepOrder() {
+        Inventory lazy = new Inventory(new ListSource(p1, p2, p3), 15);
+        Product books = lazy.findProduct("Books");
+        Product oranges = new Product("Oranges", 10, 1.00);
+        lazy.addProduct(oranges);
+        List<Product> products = lazy.getProducts();
+        assertEquals(4, products.size());
+        assertEquals("Apples", products.get(0).getName());
+        assertEquals("Pens", products.get(1).getName());
+        assertSame(books, products.get(2));
+        assertSame(oranges, products.get(3));
+        assertSame(books, lazy.findProduct("Books"));
+    }
+
+    @Test
+    void testSavedProductsLowStockInProductOrder() {
+        p1.takeUnits(45);
+        p3.takeUnits(19);
+        Inventory lazy = new Inventory(new ListSource(p1, p2, p3), 15);
+        Product oranges = new Product("Oranges", 10, 1.00);
+        lazy.addProduct(oranges);
+        oranges.sell(10);
+        Product books = lazy.findProduct("Books");
+        List<Product> lowStock = lazy.viewLowStockProducts();
+        assertEquals(3, lowStock.size());
+        assertEquals("Apples", lowStock.get(0).getName());
+        assertSame(books, lowStock.get(1));
+        assertSame(oranges, lowStock.get(2));
+    }
+
+    @Test
+    void testSavedProductsAddAndRemove() {
+        Inventory lazy = new Inventory(new ListSource(p1, p2), 15);
+        try {
+            lazy.addProduct(new Product("Pens", 10, 1.00));
+            fail("IllegalArgumentException should have been thrown");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        Product pens = lazy.findProduct("Pens");
+        lazy.removeProduct(pens);
+        assertNull(lazy.findProduct("Pens"));
+        assertNull(pens.getInventory());
+        Product newPens = new Product("Pens", 10, 1.00);
+        lazy.addProduct(newPens);
+        assertSame(newPens, lazy.findProduct("Pens"));
+        assertEquals(2, lazy.getProducts().size());
+        assertSame(newPens, lazy.getProducts().get(1));
+    }
+
+    @Test
+    void testSavedProductsNoEvents() {
+        EventLog.getInstance().clear();
+        Inventory lazy = new Inventory(new ListSource(p1, p2, p3), 15);
+        lazy.findProduct("Pens");
+        lazy.setThreshold(30);
+        assertEquals(3, lazy.getProducts().size());
+        assertEquals(3, lazy.toJson().getJSONArray("products").length());
+        Iterator<Event> events = EventLog.getInstance().iterator();
+        assertEquals("Event log cleared.", events.next().getDescription());
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void testEmptySave() {
+        Inventory lazy = new Inventory(new ListSource(), 15);
+        assertTrue(lazy.getProducts().isEmpty());
+        assertNull(lazy.findProduct("Apples"));
+    }
+
+    @Test
+    void testAddSavedProducts() {
+        EventLog.getInstance().clear();
+        testInventory.addSavedProducts(List.of(new Product("Apples", 50, 5, 45, 2.00), p2));
+        assertEquals(2, testInventory.getProducts().size());
+        assertEquals(5, testInventory.findProduct("Apples").getQuantityAvailable());
+        assertEquals(45, testInventory.findProduct("Apples").getQuantitySold());
+        assertSame(p2, testInventory.getProducts().get(1));
+        assertEquals(List.of(testInventory.findProduct("Apples")), testInventory.viewLowStockProducts());
+        Iterator<Event> events = EventLog.getInstance().iterator();
+        assertEquals("Event log cleared.", events.next().getDescription());
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void testAddSavedProductsDuplicate() {
+        testInventory.addProduct(p1);
+        try {
+            testInventory.addSavedProducts(List.of(p2, new Product("Apples", 10, 1.00)));
+            fail("IllegalArgumentException should have been thrown");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        assertEquals(List.of(p1, p2), testInventory.getProducts());
+    }
+
+    @Test
+    void testConcurrentSalesKeepLowStockProducts() throws InterruptedException {
+        Product shared = new Product("Shared", 100, 1.00);
+        testInventory.addProduct(shared);
+        testInventory.addProduct(p2);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int sale = 0; sale < 20000; sale++) {
+                    if (!shared.sell(1)) {
+                        shared.restock(true);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        boolean low = testInventory.isLowStock(shared.getQuantityAvailable(), 100);
+        assertEquals(low, testInventory.viewLowStockProducts().contains(shared));
+        shared.restock(true);
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+    }
+
+    @Test
+    void testSellAcrossThresholdUpdatesLowStock() {
+        Product paper = new Product("Paper", 100, 1.00);
+        testInventory.addProduct(paper);
+        assertTrue(paper.sell(84));
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+        assertTrue(paper.sell(1));
+        assertEquals(List.of(paper), testInventory.viewLowStockProducts());
+        testInventory.setThreshold(10);
+        assertTrue(testInventory.viewLowStockProducts().isEmpty());
+        assertTrue(paper.sell(5));
+        assertEquals(List.of(paper), testInventory.viewLowStockProducts());
+    }
+
+    @Test
+    void testIsLowStock() {
+        assertTrue(testInventory.isLowStock(15, 100));
+        assertFalse(testInventory.isLowStock(16, 100));
+        testInventory.setThreshold(50);
+        assertTrue(testInventory.isLowStock(1, 2));
+        assertFalse(testInventory.isLowStock(2, 3));
+    }
 }
@@ -0,0 +1,84 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for ProductSearchIndex
+public class ProductSearchIndexTest {
+    private Inventory inventory;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void runBefore() {
+        inventory = new Inventory();
+        inventory.addProduct(new Product("Apples", 50, 2.00));
+        inventory.addProduct(new Product("Apricots", 20, 3.00));
+        inventory.addProduct(new Product("Pens", 15, 0.25));
+        inventory.addProduct(new Product("Pencils", 30, 0.10));
+        inventory.addProduct(new Product("Books", 20, 1.35));
+        index = inventory.getSearchIndex();
+    }
+
+    @Test
+    void testStartingWith() {
+        assertEquals(List.of("Apples", "Apricots"), index.startingWith("ap", 10));
+        assertEquals(List.of("Apples"), index.startingWith("AP", 1));
+        assertEquals(List.of("Pencils", "Pens"), index.startingWith("Pen", 10));
+        assertEquals(List.of("Pens"), index.startingWith("pens", 10));
+        assertTrue(index.startingWith("x", 10).isEmpty());
+        assertEquals(5, index.startingWith("", 10).size());
+    }
+
+    @Test
+    void testSimilarTo() {
+        assertEquals("Pencils", index.similarTo("pencls", 3).get(0));
+        assertEquals("Apricots", index.similarTo("aprikots", 3).get(0));
+        assertEquals("Books", index.similarTo("boks", 1).get(0));
+        assertTrue(index.similarTo("zzz", 5).isEmpty());
+        assertTrue(index.similarTo("", 5).isEmpty());
+    }
+
+    @Test
+    void testSuggest() {
+        assertEquals(List.of("Pencils", "Pens"), index.suggest("pen", 2));
+        assertEquals(List.of("Pens", "Pencils"), index.suggest("pens", 3));
+        assertEquals(List.of("Apples"), index.suggest("aples", 1));
+    }
+
+    @Test
+    void testFollowsInventory() {
+        Product bananas = new Product("Bananas", 10, 1.00);
+        inventory.addProduct(bananas);
+        assertEquals(List.of("Bananas"), index.startingWith("ban", 10));
+        assertEquals("Bananas", index.similarTo("bananna", 1).get(0));
+        inventory.removeProduct(bananas);
+        assertTrue(index.startingWith("ban", 10).isEmpty());
+        assertFalse(index.similarTo("bananna", 5).contains("Bananas"));
+        assertEquals(5, index.size());
+        assertSame(index, inventory.getSearchIndex());
+    }
+
+    @Test
+    void testManyRemovals() {
+        for (int i = 0; i < 100; i++) {
+            inventory.addProduct(new Product("Product " + i, 10, 1.00));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            inventory.removeProduct(inventory.findProduct("Product " + i));
+        }
+        for (Product p : List.copyOf(inventory.getProducts())) {
+            if (p.getName().startsWith("Product 1")) {
+                inventory.removeProduct(p);
+            }
+        }
+        assertEquals(List.of("Product 3", "Product 31"), index.startingWith("product 3", 2));
+        assertEquals("Product 99", index.similarTo("Prodcut 99", 1).get(0));
+        assertEquals(inventory.getProducts().size(), index.size());
+        inventory.addProduct(new Product("Product 10", 10, 1.00));
+        assertEquals("Product 10", index.similarTo("product 10", 1).get(0));
+    }
+}
@@ -0,0 +1,89 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for ProductSlots
+public class ProductSlotsTest {
+    private ProductSlots slots;
+    private Product p1;
+    private Product p2;
+    private Product p3;
+
+    @BeforeEach
+    void runBefore() {
+        slots = new ProductSlots();
+        p1 = new Product("Apples", 10, 1.0);
+        p2 = new Product("Bananas", 10, 1.0);
+        p3 = new Product("Cherries", 10, 1.0);
+    }
+
+    @Test
+    void testAddAndRemove() {
+        slots.add(p1);
+        slots.add(p2);
+        slots.add(p3);
+        slots.remove(p2);
+        assertEquals(2, slots.size());
+        assertEquals(List.of(p1, p3), slots.list());
+        slots.add(p2);
+        assertEquals(List.of(p1, p3, p2), slots.list());
+    }
+
+    @Test
+    void testRemoveProductNotInSlots() {
+        slots.add(p1);
+        slots.remove(p2);
+        slots.remove(p1);
+        slots.remove(p1);
+        assertEquals(0, slots.size());
+        assertEquals(List.of(), slots.list());
+    }
+
+    @Test
+    void testListCopiedOnlyAfterChange() {
+        slots.add(p1);
+        List<Product> before = slots.list();
+        assertSame(before, slots.list());
+        slots.add(p2);
+        List<Product> after = slots.list();
+        assertEquals(List.of(p1), before);
+        assertEquals(List.of(p1, p2), after);
+        assertSame(after, slots.list());
+        assertThrows(UnsupportedOperationException.class, () -> after.add(p3));
+    }
+
+    @Test
+    void testAddFirst() {
+        slots.add(p3);
+        slots.addFirst(List.of(p1, p2));
+        assertEquals(List.of(p1, p2, p3), slots.list());
+        slots.remove(p1);
+        slots.remove(p3);
+        assertEquals(List.of(p2), slots.list());
+    }
+
+    @Test
+    void testGrowAndShrinkKeepOrder() {
+        List<Product> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Product p = new Product("Product " + i, 10, 1.0);
+            slots.add(p);
+            expected.add(p);
+        }
+        for (int i = 0; i < 990; i++) {
+            slots.remove(expected.remove(i % expected.size()));
+        }
+        assertEquals(expected, slots.list());
+        for (Product p : expected) {
+            slots.remove(p);
+        }
+        slots.add(p1);
+        assertEquals(List.of(p1), slots.list());
+    }
+}
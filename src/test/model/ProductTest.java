@@ -3,6 +3,8 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 // Test suite for Product class
@@ -23,6 +25,12 @@ class ProductTest {
         assertEquals(1.50, testProduct.getCost());
     }
 
+    @Test
+    void testIdsAreUnique() {
+        Product other = new Product("Bananas", 30, 1.50);
+        assertNotEquals(testProduct.getId(), other.getId());
+    }
+
     @Test
     void testSell() {
         testProduct.sell(20);
@@ -133,4 +141,91 @@ class ProductTest {
         assertEquals(30, testProduct.getQuantityAvailable());
         assertEquals(0, testProduct.getQuantitySold());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSellMoreThanAvailable() {
+        testProduct.sell(25);
+        assertFalse(testProduct.sell(6));
+        assertEquals(5, testProduct.getQuantityAvailable());
+        assertEquals(25, testProduct.getQuantitySold());
+        assertTrue(testProduct.sell(5));
+        assertEquals(0, testProduct.getQuantityAvailable());
+    }
+
+    @Test
+    void testTakeAndReturnUnits() {
+        assertTrue(testProduct.takeUnits(10));
+        assertEquals(20, testProduct.getQuantityAvailable());
+        assertFalse(testProduct.takeUnits(21));
+
+        testProduct.returnUnits(10);
+        assertEquals(30, testProduct.getQuantityAvailable());
+        assertEquals(0, testProduct.getQuantitySold());
+    }
+
+    @Test
+    void testReturnUnitsAfterRestock() {
+        testProduct.takeUnits(10);
+        testProduct.restock(true);
+        testProduct.returnUnits(10);
+        assertEquals(30, testProduct.getQuantityAvailable());
+        assertEquals(0, testProduct.getQuantitySold());
+    }
+
+    // EFFECTS: helper that runs given task on the given number of threads at once and waits for all of them
+    private void runOnThreads(int numThreads, Runnable task) throws InterruptedException {
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            threads[t] = new Thread(task);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    void testConcurrentSellNeverOversells() throws InterruptedException {
+        Product product = new Product("Milk", 100000, 1.00);
+        AtomicInteger unitsSold = new AtomicInteger();
+        runOnThreads(8, () -> {
+            for (int i = 0; i < 20000; i++) {
+                if (product.sell(1)) {
+                    unitsSold.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(100000, unitsSold.get());
+        assertEquals(0, product.getQuantityAvailable());
+        assertEquals(100000, product.getQuantitySold());
+    }
+
+    @Test
+    void testConcurrentSellAndRestockLosesNoUnits() throws InterruptedException {
+        Product product = new Product("Eggs", 1000, 1.00);
+        AtomicInteger unitsSold = new AtomicInteger();
+        AtomicInteger unitsRestocked = new AtomicInteger();
+        runOnThreads(8, () -> {
+            for (int i = 0; i < 20000; i++) {
+                if (i % 100 == 0) {
+                    unitsRestocked.addAndGet((int) product.restock(true));
+                } else if (product.sell(2)) {
+                    unitsSold.addAndGet(2);
+                }
+            }
+        });
+        // with a cost of 1.00, each restock returns the number of units it put back
+        assertEquals(unitsSold.get(), unitsRestocked.get() + product.getQuantitySold());
+        assertEquals(1000, product.getQuantityAvailable() + product.getQuantitySold());
+    }
+
+    @Test
+    void testRestore() {
+        Inventory inventory = new Inventory();
+        inventory.addProduct(testProduct);
+        testProduct.restore(2, 28);
+        assertEquals(2, testProduct.getQuantityAvailable());
+        assertEquals(28, testProduct.getQuantitySold());
+        assertEquals(1, inventory.viewLowStockProducts().size());
+    }
+}
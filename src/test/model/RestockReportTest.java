@@ -0,0 +1,83 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for RestockReport class
+public class RestockReportTest {
+    private Product p1;
+    private Product p2;
+    private Product p3;
+    private List<Product> products;
+
+    @BeforeEach
+    void runBefore() {
+        p1 = new Product("Apples", 50, 2.00);
+        p2 = new Product("Pens", 15, 0.25);
+        p3 = new Product("Books", 20, 1.35);
+        products = Arrays.asList(p1, p2, p3);
+    }
+
+    @Test
+    void testNothingSold() {
+        RestockReport report = RestockReport.of(products, 15, 2, false);
+        assertEquals(0.0, report.getTotalCost());
+        assertEquals(0.0, report.getLowStockCost());
+        assertEquals(0, report.getLowStockCount());
+        assertEquals(Arrays.asList(p1, p2), report.getMostExpensive());
+    }
+
+    @Test
+    void testEmpty() {
+        RestockReport report = RestockReport.of(new ArrayList<>(), 15, 3, true);
+        assertEquals(0.0, report.getTotalCost());
+        assertTrue(report.getMostExpensive().isEmpty());
+    }
+
+    @Test
+    void testTotalsAndGrouping() {
+        p1.sell(45); // 90.00, low stock
+        p2.sell(4);  // 1.00
+        p3.sell(10); // 13.50
+        RestockReport report = RestockReport.of(products, 15, 3, false);
+        assertEquals(104.5, report.getTotalCost(), 1e-9);
+        assertEquals(90.0, report.getLowStockCost(), 1e-9);
+        assertEquals(14.5, report.getInStockCost(), 1e-9);
+        assertEquals(1, report.getLowStockCount());
+        assertEquals(Arrays.asList(p1, p3, p2), report.getMostExpensive());
+        assertEquals(90.0, report.getMostExpensiveCost(0), 1e-9);
+        assertEquals(1.0, report.getMostExpensiveCost(2), 1e-9);
+    }
+
+    @Test
+    void testTopNSmallerThanProducts() {
+        p2.sell(4);
+        p3.sell(10);
+        RestockReport report = RestockReport.of(products, 15, 1, false);
+        assertEquals(Arrays.asList(p3), report.getMostExpensive());
+        assertEquals(0, RestockReport.of(products, 15, 0, false).getMostExpensive().size());
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        List<Product> many = new ArrayList<>();
+        for (int p = 0; p < 20000; p++) {
+            Product product = new Product("Product " + p, 100, 1.00 + p % 7);
+            product.sell(p % 100);
+            many.add(product);
+        }
+        RestockReport sequential = RestockReport.of(many, 15, 10, false);
+        RestockReport parallel = RestockReport.of(many, 15, 10, true);
+        assertEquals(sequential.getTotalCost(), parallel.getTotalCost(), 1e-6);
+        assertEquals(sequential.getLowStockCost(), parallel.getLowStockCost(), 1e-6);
+        assertEquals(sequential.getLowStockCount(), parallel.getLowStockCount());
+        assertEquals(sequential.getMostExpensive(), parallel.getMostExpensive());
+        assertEquals(693.0, sequential.getMostExpensiveCost(0), 1e-9);
+    }
+}
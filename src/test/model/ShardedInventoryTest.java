@@ -0,0 +1,107 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for ShardedInventory
+public class ShardedInventoryTest {
+    private ShardedInventory stores;
+
+    @BeforeEach
+    void runBefore() {
+        stores = new ShardedInventory(List.of("Downtown", "Airport"));
+        stores.addProduct("Downtown", new Product("Apples", 50, 2.00)).join();
+        stores.addProduct("Downtown", new Product("Pens", 20, 0.25)).join();
+        stores.addProduct("Airport", new Product("Apples", 10, 2.50)).join();
+    }
+
+    @AfterEach
+    void runAfter() {
+        stores.close();
+    }
+
+    @Test
+    void testShards() {
+        assertEquals(List.of("Downtown", "Airport"), stores.getShardNames());
+        assertEquals(List.of("partition-0", "partition-1"), ShardedInventory.partitionNames(2));
+        assertThrows(IllegalArgumentException.class, () -> stores.sell("Uptown", "Apples", 1));
+        CompletableFuture<Void> duplicate = stores.addProduct("Airport", new Product("Apples", 5, 1.00));
+        CompletionException e = assertThrows(CompletionException.class, duplicate::join);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testSellAndRestock() {
+        assertTrue(stores.sell("Downtown", "Apples", 45).join());
+        assertFalse(stores.sell("Downtown", "Apples", 10).join());
+        assertTrue(stores.sell("Airport", "Apples", 10).join());
+        assertFalse(stores.sell("Airport", "Pens", 1).join());
+        assertEquals(25.0, stores.restock("Airport", "Apples").join());
+        assertEquals(0.0, stores.restock("Airport", "Pens").join());
+        int available = stores.submit("Airport", i -> i.findProduct("Apples").getQuantityAvailable()).join();
+        assertEquals(10, available);
+    }
+
+    @Test
+    void testScatterGather() {
+        stores.sell("Downtown", "Apples", 45);
+        stores.sell("Airport", "Apples", 2);
+        Map<String, List<Product>> lowStock = stores.viewLowStockProducts().join();
+        assertEquals(List.of("Downtown", "Airport"), new ArrayList<>(lowStock.keySet()));
+        assertEquals(1, lowStock.get("Downtown").size());
+        assertTrue(lowStock.get("Airport").isEmpty());
+        assertEquals(90.0 + 5.0, stores.totalRestockCost().join());
+        assertEquals(90.0, stores.restockReports(1).join().get("Downtown").getTotalCost());
+        assertEquals(Map.of("Downtown", 2, "Airport", 1), stores.scatter(i -> i.getProducts().size()).join());
+    }
+
+    @Test
+    void testHashPartitions() {
+        ShardedInventory catalog = new ShardedInventory(ShardedInventory.partitionNames(4));
+        for (int p = 0; p < 400; p++) {
+            String name = "Product " + p;
+            catalog.addProduct(catalog.partitionOf(name), new Product(name, 10, 1.00));
+        }
+        Map<String, Integer> sizes = catalog.scatter(i -> i.getProducts().size()).join();
+        assertEquals(400, sizes.values().stream().mapToInt(Integer::intValue).sum());
+        for (int size : sizes.values()) {
+            assertTrue(size > 0);
+        }
+        String shard = catalog.partitionOf("Product 7");
+        assertEquals(shard, catalog.partitionOf("Product 7"));
+        assertTrue(catalog.sell(shard, "Product 7", 10).join());
+        catalog.close();
+    }
+
+    @Test
+    void testCloseWaitsForMailboxes() {
+        List<CompletableFuture<Boolean>> sales = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sales.add(stores.sell("Downtown", "Pens", 1));
+        }
+        stores.close();
+        for (CompletableFuture<Boolean> sale : sales) {
+            assertTrue(sale.isDone());
+        }
+        assertThrows(RejectedExecutionException.class, () -> stores.sell("Downtown", "Pens", 1));
+    }
+
+    @Test
+    void testMailboxKeepsOrder() {
+        for (int i = 0; i < 50; i++) {
+            stores.sell("Downtown", "Apples", 1);
+        }
+        assertFalse(stores.sell("Downtown", "Apples", 1).join());
+        assertEquals(0, stores.submit("Downtown", i -> i.findProduct("Apples").getQuantityAvailable()).join());
+    }
+}
@@ -0,0 +1,117 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for StockLevelQueue
+public class StockLevelQueueTest {
+    private Inventory inventory;
+    private Product apples;
+    private Product pens;
+    private Product books;
+    private StockLevelQueue queue;
+
+    @BeforeEach
+    void runBefore() {
+        inventory = new Inventory();
+        apples = new Product("Apples", 50, 2.00);
+        pens = new Product("Pens", 20, 0.25);
+        books = new Product("Books", 10, 1.35);
+        inventory.addProduct(apples);
+        inventory.addProduct(pens);
+        inventory.addProduct(books);
+        apples.sell(40); // 20%
+        pens.sell(10); // 50%
+        books.sell(1); // 90%
+        queue = inventory.getStockLevelQueue();
+    }
+
+    @Test
+    void testMostDepleted() {
+        assertEquals(List.of(apples, pens, books), queue.mostDepleted(5));
+        assertEquals(List.of(apples, pens), queue.mostDepleted(2));
+        assertTrue(queue.mostDepleted(0).isEmpty());
+        assertEquals(3, queue.size());
+        assertSame(queue, inventory.getStockLevelQueue());
+    }
+
+    @Test
+    void testAtOrBelow() {
+        assertEquals(List.of(apples), queue.atOrBelow(20));
+        assertEquals(List.of(apples, pens), queue.atOrBelow(50));
+        assertEquals(List.of(apples, pens, books), queue.atOrBelow(100));
+        assertTrue(queue.atOrBelow(19).isEmpty());
+    }
+
+    @Test
+    void testFollowsSalesAndRestocks() {
+        books.sell(9); // 0%
+        assertEquals(List.of(books, apples), queue.mostDepleted(2));
+        apples.restock(true);
+        assertEquals(List.of(books, pens, apples), queue.mostDepleted(3));
+        assertEquals(List.of(books), queue.atOrBelow(20));
+    }
+
+    @Test
+    void testFollowsInventory() {
+        Product bananas = new Product("Bananas", 10, 1.00);
+        inventory.addProduct(bananas);
+        bananas.sell(9);
+        assertEquals(List.of(bananas, apples), queue.mostDepleted(2));
+        inventory.removeProduct(bananas);
+        inventory.removeProduct(pens);
+        assertEquals(List.of(apples, books), queue.mostDepleted(5));
+        assertEquals(2, queue.size());
+        inventory.setThreshold(50);
+        assertEquals(List.of(apples), queue.atOrBelow(50));
+    }
+
+    @Test
+    void testManyProducts() {
+        Random random = new Random(210);
+        List<Product> all = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Product p = new Product("Product " + i, 1 + random.nextInt(100), 1.00);
+            inventory.addProduct(p);
+            all.add(p);
+        }
+        for (int i = 0; i < 2000; i++) {
+            Product p = all.get(random.nextInt(all.size()));
+            if (random.nextInt(10) == 0) {
+                p.restock(true);
+            } else {
+                p.sell(random.nextInt(p.getQuantityAvailable() + 1));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            inventory.removeProduct(all.remove(random.nextInt(all.size())));
+        }
+        all.add(apples);
+        all.add(pens);
+        all.add(books);
+        Comparator<Product> byFill = Comparator.comparingDouble(p ->
+                p.getQuantityAvailable() / (double) p.getQuantityMaximum());
+        all.sort(byFill);
+        assertEquals(fills(all.subList(0, 50)), fills(queue.mostDepleted(50)));
+        assertEquals(all.size(), queue.size());
+        long expectedBelow = all.stream().filter(p -> p.getQuantityAvailable() * 100 <= 30 * p.getQuantityMaximum())
+                .count();
+        assertEquals(expectedBelow, queue.atOrBelow(30).size());
+    }
+
+    // EFFECTS: returns how full the stock of each product is, in order
+    private static List<Double> fills(List<Product> products) {
+        List<Double> fills = new ArrayList<>();
+        for (Product p : products) {
+            fills.add(p.getQuantityAvailable() / (double) p.getQuantityMaximum());
+        }
+        return fills;
+    }
+}
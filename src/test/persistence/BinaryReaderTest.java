@@ -0,0 +1,217 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import model.Inventory;
+import model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for BinaryWriter and BinaryReader
+public class BinaryReaderTest {
+    private static final String SAVE = "./data/testBinarySave.bin";
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(Paths.get(SAVE));
+    }
+
+    // EFFECTS: helper method that tests if two inventories have the same threshold and products
+    private void verifySameInventory(Inventory expected, Inventory actual) {
+        assertEquals(expected.getThreshold(), actual.getThreshold());
+        List<Product> expectedProducts = expected.getProducts();
+        List<Product> actualProducts = actual.getProducts();
+        assertEquals(expectedProducts.size(), actualProducts.size());
+        for (int i = 0; i < expectedProducts.size(); i++) {
+            Product e = expectedProducts.get(i);
+            Product a = actualProducts.get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getQuantityMaximum(), a.getQuantityMaximum());
+            assertEquals(e.getQuantityAvailable(), a.getQuantityAvailable());
+            assertEquals(e.getQuantitySold(), a.getQuantitySold());
+            assertEquals(e.getCost(), a.getCost());
+        }
+    }
+
+    // EFFECTS: helper method that returns the number of events in the event log
+    private int countEvents() {
+        int count = 0;
+        for (Event ignored : EventLog.getInstance()) {
+            count++;
+        }
+        return count;
+    }
+
+    // EFFECTS: helper method that saves the inventory in binary, reads it back and compares the two
+    private void verifyRoundTrip(Inventory i) {
+        try {
+            new BinaryWriter(SAVE).fullSave(i);
+            assertTrue(new InventoryReader(SAVE).isBinarySave());
+            verifySameInventory(i, new BinaryReader(SAVE).read());
+            verifySameInventory(i, new BinaryReader(SAVE).readLazily());
+            verifySameInventory(i, new InventoryReader(SAVE).read());
+        } catch (IOException e) {
+            fail("IOException was thrown unexpectedly");
+        }
+    }
+
+    @Test
+    void testEmptyInventory() {
+        verifyRoundTrip(new Inventory());
+    }
+
+    @Test
+    void testGeneralInventory() {
+        Inventory i = new Inventory();
+        i.setThreshold(30);
+        Product apples = new Product("Apples", 50, 2.00);
+        i.addProduct(apples);
+        i.addProduct(new Product("Pens", 15, 0.25));
+        i.addProduct(new Product("Caf\u00e9 cr\u00e8me \"au lait\" \u2615", 20, 1.35)); // with a coffee cup
+        apples.sell(45);
+        verifyRoundTrip(i);
+    }
+
+    @Test
+    void testLargeInventory() {
+        Inventory i = new Inventory();
+        char[] longName = new char[3000];
+        Arrays.fill(longName, 'x');
+        for (int p = 0; p < 100000; p++) {
+            Product product = new Product("Product " + p + (p % 1000 == 0 ? new String(longName) : ""), 100, p / 8.0);
+            i.addProduct(product);
+            product.sell(p % 100);
+        }
+        verifyRoundTrip(i);
+    }
+
+    @Test
+    void testReadLazily() throws IOException {
+        Inventory i = new Inventory();
+        i.setThreshold(40);
+        for (int p = 0; p < 1000; p++) {
+            Product product = new Product("Product " + p, 100, p / 4.0);
+            i.addProduct(product);
+            product.sell(p % 100);
+        }
+        new BinaryWriter(SAVE).fullSave(i);
+        EventLog.getInstance().clear();
+        Inventory lazy = new BinaryReader(SAVE).readLazily();
+        assertEquals(1, countEvents()); // only "Event log cleared."
+        assertEquals(40, lazy.getThreshold());
+        Product p500 = lazy.findProduct("Product 500");
+        assertEquals(100, p500.getQuantityMaximum());
+        assertEquals(100, p500.getQuantityAvailable());
+        assertEquals(0, p500.getQuantitySold());
+        assertEquals(125.0, p500.getCost());
+        assertSame(p500, lazy.findProduct("Product 500"));
+        assertNull(lazy.findProduct("Product 1000"));
+        assertNull(lazy.findProduct("Product"));
+        assertTrue(lazy.findProduct("Product 999").sell(1));
+        assertEquals(2, countEvents());
+        i.findProduct("Product 999").sell(1);
+        verifySameInventory(i, lazy);
+    }
+
+    @Test
+    void testReadLazilySearchAndLowStock() throws IOException {
+        Inventory i = new Inventory();
+        i.addProduct(new Product("Apples", 50, 2.00));
+        i.addProduct(new Product("Pens", 15, 0.25));
+        i.findProduct("Pens").sell(14);
+        new BinaryWriter(SAVE).fullSave(i);
+        Inventory lazy = new BinaryReader(SAVE).readLazily();
+        assertEquals(List.of("Pens"), lazy.getSearchIndex().startingWith("pe", 10));
+        assertEquals(List.of("Apples", "Pens"), lazy.getSearchIndex().startingWith("", 10));
+        List<Product> lowStock = lazy.viewLowStockProducts();
+        assertEquals(1, lowStock.size());
+        assertEquals("Pens", lowStock.get(0).getName());
+        assertEquals(1, lowStock.get(0).getQuantityAvailable());
+        assertSame(lowStock.get(0), lazy.findProduct("Pens"));
+    }
+
+    @Test
+    void testReadLazilyVersion1() throws IOException {
+        Inventory i = new Inventory();
+        i.addProduct(new Product("Apples", 50, 2.00));
+        i.addProduct(new Product("Pens", 15, 0.25));
+        new BinaryWriter(SAVE).fullSave(i);
+        byte[] bytes = Files.readAllBytes(Paths.get(SAVE));
+        ByteBuffer version1 = ByteBuffer.wrap(bytes, 0, bytes.length - Integer.BYTES * 8)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        version1.putInt(4, 1);
+        Files.write(Paths.get(SAVE), Arrays.copyOf(bytes, version1.limit()));
+        EventLog.getInstance().clear();
+        verifySameInventory(i, new BinaryReader(SAVE).readLazily());
+        verifySameInventory(i, new BinaryReader(SAVE).read());
+        assertEquals(1, countEvents()); // only "Event log cleared."
+    }
+
+    @Test
+    void testBinarySaveIsSmaller() throws IOException {
+        Inventory i = new Inventory();
+        for (int p = 0; p < 1000; p++) {
+            i.addProduct(new Product("Product " + p, 100, 1.25));
+        }
+        new BinaryWriter(SAVE).fullSave(i);
+        new JsonWriter("./data/testBinarySave.json").fullSave(i);
+        assertTrue(Files.size(Paths.get(SAVE)) * 4 < Files.size(Paths.get("./data/testBinarySave.json")));
+        Files.delete(Paths.get("./data/testBinarySave.json"));
+    }
+
+    @Test
+    void testJsonIsNotBinary() {
+        String jsonSave = "./data/testReaderManyProductsInInventoryAndSold.json";
+        try {
+            assertFalse(new InventoryReader(jsonSave).isBinarySave());
+            verifySameInventory(new JsonReader(jsonSave).read(), new InventoryReader(jsonSave).read());
+        } catch (IOException e) {
+            fail("IOException was thrown unexpectedly");
+        }
+    }
+
+    @Test
+    void testReadNotBinary() {
+        try {
+            new BinaryReader("./data/testReaderManyProductsInInventoryAndSold.json").read();
+            fail("IOException should have been thrown");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReadTruncated() throws IOException {
+        Inventory i = new Inventory();
+        i.addProduct(new Product("Apples", 50, 2.00));
+        new BinaryWriter(SAVE).fullSave(i);
+        byte[] bytes = Files.readAllBytes(Paths.get(SAVE));
+        Files.write(Paths.get(SAVE), Arrays.copyOf(bytes, 30));
+        try {
+            new BinaryReader(SAVE).read();
+            fail("IOException should have been thrown");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            new BinaryWriter("./data/my\0illegal:fileName.bin").fullSave(new Inventory());
+            fail("Exception should have been thrown");
+        } catch (IOException | RuntimeException e) {
+            // pass
+        }
+    }
+}
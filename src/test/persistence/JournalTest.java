@@ -0,0 +1,245 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import model.Inventory;
+import model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for Journal
+public class JournalTest {
+    private static final String JOURNAL = "./data/testJournal.bin";
+    private static final String SNAPSHOT = "./data/testJournalSnapshot.json";
+
+    private Inventory inventory;
+    private Journal journal;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        deleteFiles();
+        inventory = new Inventory();
+        journal = new Journal(JOURNAL, 0);
+        inventory.addObserver(journal);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        journal.close();
+        deleteFiles();
+    }
+
+    // EFFECTS: helper method that deletes the files written by these tests
+    private void deleteFiles() throws IOException {
+        Files.deleteIfExists(Paths.get(JOURNAL));
+        Files.deleteIfExists(Paths.get(SNAPSHOT));
+    }
+
+    // EFFECTS: helper method that tests if two inventories have the same threshold and products
+    private void verifySameInventory(Inventory expected, Inventory actual) {
+        assertEquals(expected.getThreshold(), actual.getThreshold());
+        List<Product> expectedProducts = expected.getProducts();
+        List<Product> actualProducts = actual.getProducts();
+        assertEquals(expectedProducts.size(), actualProducts.size());
+        for (int i = 0; i < expectedProducts.size(); i++) {
+            Product e = expectedProducts.get(i);
+            Product a = actualProducts.get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getQuantityMaximum(), a.getQuantityMaximum());
+            assertEquals(e.getQuantityAvailable(), a.getQuantityAvailable());
+            assertEquals(e.getQuantitySold(), a.getQuantitySold());
+            assertEquals(e.getCost(), a.getCost());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: helper method that makes one of every kind of change to the inventory
+    private void makeChanges() {
+        Product apples = new Product("Apples", 50, 2.00);
+        Product pens = new Product("Pens", 15, 0.25);
+        Product books = new Product("Books", 20, 1.35);
+        inventory.addProduct(apples);
+        inventory.addProduct(pens);
+        inventory.addProduct(books);
+        apples.sell(45);
+        pens.sell(10);
+        pens.restock(true);
+        books.sell(3);
+        inventory.removeProduct(pens);
+        inventory.setThreshold(25);
+    }
+
+    @Test
+    void testReplayWithoutSnapshot() throws IOException {
+        makeChanges();
+        journal.sync();
+        Inventory recovered = Journal.recover(SNAPSHOT, JOURNAL);
+        verifySameInventory(inventory, recovered);
+        assertEquals(List.of(recovered.findProduct("Apples")), recovered.viewLowStockProducts());
+    }
+
+    @Test
+    void testReplayLogsNoEvents() throws IOException {
+        makeChanges();
+        journal.sync();
+        EventLog.getInstance().clear();
+        Journal.recover(SNAPSHOT, JOURNAL);
+        assertOnlyClearedEvent();
+    }
+
+    @Test
+    void testReplayRemovalFromSnapshotLogsNoEvents() throws IOException {
+        Product pens = new Product("Pens", 15, 0.25);
+        inventory.addProduct(new Product("Apples", 50, 2.00));
+        inventory.addProduct(pens);
+        new JsonWriter(SNAPSHOT).fullSave(inventory);
+        inventory.removeProduct(pens);
+        journal.sync();
+        EventLog.getInstance().clear();
+
+        Inventory recovered = Journal.recover(SNAPSHOT, JOURNAL);
+        assertNull(recovered.findProduct("Pens"));
+        verifySameInventory(inventory, recovered);
+        assertOnlyClearedEvent();
+    }
+
+    @Test
+    void testReplayAddedAgainKeepsOrder() throws IOException {
+        Product apples = new Product("Apples", 50, 2.00);
+        inventory.addProduct(apples);
+        inventory.addProduct(new Product("Pens", 15, 0.25));
+        apples.sell(5);
+        inventory.removeProduct(apples);
+        Product applesAgain = new Product("Apples", 30, 2.50);
+        inventory.addProduct(applesAgain);
+        applesAgain.sell(7);
+        journal.sync();
+
+        Inventory recovered = Journal.recover(SNAPSHOT, JOURNAL);
+        verifySameInventory(inventory, recovered);
+        assertEquals("Pens", recovered.getProducts().get(0).getName());
+    }
+
+    // EFFECTS: helper method that tests that the only event in the EventLog is the one logged by clearing it
+    private void assertOnlyClearedEvent() {
+        List<String> descriptions = new ArrayList<>();
+        for (Event e : EventLog.getInstance()) {
+            descriptions.add(e.getDescription());
+        }
+        assertEquals(List.of("Event log cleared."), descriptions);
+    }
+
+    @Test
+    void testReplayOnSnapshot() throws IOException {
+        Product apples = new Product("Apples", 50, 2.00);
+        inventory.addProduct(apples);
+        apples.sell(5);
+        new JsonWriter(SNAPSHOT).fullSave(inventory);
+        apples.sell(10);
+        inventory.addProduct(new Product("Pens", 15, 0.25));
+        journal.sync();
+
+        Inventory recovered = Journal.recover(SNAPSHOT, JOURNAL);
+        verifySameInventory(inventory, recovered);
+    }
+
+    @Test
+    void testReplayTwice() throws IOException {
+        makeChanges();
+        journal.sync();
+        Inventory recovered = Journal.recover(SNAPSHOT, JOURNAL);
+        assertEquals(9, Journal.replay(JOURNAL, recovered));
+        verifySameInventory(inventory, recovered);
+    }
+
+    @Test
+    void testCloseWritesEverything() throws IOException {
+        makeChanges();
+        journal.close();
+        verifySameInventory(inventory, Journal.recover(SNAPSHOT, JOURNAL));
+    }
+
+    @Test
+    void testTornRecordIgnoredAndCutOff() throws IOException {
+        makeChanges();
+        journal.close();
+        long goodLength = Files.size(Paths.get(JOURNAL));
+        Files.write(Paths.get(JOURNAL), new byte[] {0, 0, 0, 20, 3, 0}, StandardOpenOption.APPEND);
+        verifySameInventory(inventory, Journal.recover(SNAPSHOT, JOURNAL));
+
+        journal = new Journal(JOURNAL, 0);
+        assertEquals(goodLength, Files.size(Paths.get(JOURNAL)));
+        inventory.addObserver(journal);
+        inventory.findProduct("Books").sell(1);
+        journal.sync();
+        verifySameInventory(inventory, Journal.recover(SNAPSHOT, JOURNAL));
+    }
+
+    @Test
+    void testNotAJournal() throws IOException {
+        journal.close();
+        Files.write(Paths.get(JOURNAL), "{\"threshold\": 15}".getBytes());
+        try {
+            journal = new Journal(JOURNAL, 0);
+            fail("IOException should have been thrown");
+        } catch (IOException e) {
+            // pass
+        }
+        try {
+            Journal.replay(JOURNAL, new Inventory());
+            fail("IOException should have been thrown");
+        } catch (IOException e) {
+            // pass
+        }
+        Files.delete(Paths.get(JOURNAL));
+        journal = new Journal(JOURNAL, 0);
+    }
+
+    @Test
+    void testConcurrentSales() throws Exception {
+        Product apples = new Product("Apples", 100000, 2.00);
+        inventory.addProduct(apples);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int sale = 0; sale < 2000; sale++) {
+                    apples.sell(1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        journal.sync();
+        Inventory recovered = Journal.recover(SNAPSHOT, JOURNAL);
+        assertEquals(8000, recovered.findProduct("Apples").getQuantitySold());
+    }
+
+    @Test
+    void testTruncate() throws IOException {
+        makeChanges();
+        new JsonWriter(SNAPSHOT).fullSave(inventory);
+        long checkpoint = journal.checkpoint();
+        inventory.findProduct("Apples").sell(1);
+        journal.truncate(checkpoint);
+        inventory.findProduct("Books").sell(2);
+        journal.sync();
+
+        assertEquals(2, Journal.replay(JOURNAL, new JsonStreamReader(SNAPSHOT).read()));
+        verifySameInventory(inventory, Journal.recover(SNAPSHOT, JOURNAL));
+        journal.close();
+        journal = new Journal(JOURNAL, 0);
+        verifySameInventory(inventory, Journal.recover(SNAPSHOT, JOURNAL));
+    }
+}
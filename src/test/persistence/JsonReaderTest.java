@@ -1,13 +1,19 @@
 package persistence;
 
+import model.Event;
+import model.EventLog;
 import model.Inventory;
 import model.Product;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
 // Test suite for JsonReader. Modelled after JsonSerializationDemo from CPSC 210
@@ -92,4 +98,39 @@ public class JsonReaderTest {
             fail("IOException was thrown unexpectedly");
         }
     }
+
+    @Test
+    void testReaderRestoresSavedQuantities() {
+        String saveLocation = "./data/testReaderManyProductsInInventoryAndSold.json";
+        JsonReader reader = new JsonReader(saveLocation);
+        EventLog.getInstance().clear();
+        try {
+            Inventory i = reader.read();
+            List<Product> products = i.getProducts();
+            assertEquals(25, products.get(0).getQuantityAvailable());
+            assertEquals(0, products.get(1).getQuantityAvailable());
+            assertEquals(products.get(1), i.viewLowStockProducts().get(0));
+            Iterator<Event> events = EventLog.getInstance().iterator();
+            assertEquals("Event log cleared.", events.next().getDescription());
+            assertFalse(events.hasNext());
+        } catch (IOException e) {
+            fail("IOException was thrown unexpectedly");
+        }
+    }
+
+    @Test
+    void testRecreateInventoryWithoutQuantityAvailable() {
+        JSONObject product = new JSONObject();
+        product.put("name", "Apple");
+        product.put("quantityMaximum", 50);
+        product.put("quantitySold", 20);
+        product.put("cost", 1.0);
+        JSONObject save = new JSONObject();
+        save.put("threshold", 30);
+        save.put("products", new JSONArray().put(product));
+        Inventory i = new JsonReader("./data/InvisibleFile.json").recreateInventory(save);
+        assertEquals(30, i.findProduct("Apple").getQuantityAvailable());
+        assertEquals(20, i.findProduct("Apple").getQuantitySold());
+        assertEquals(30, i.getThreshold());
+    }
 }
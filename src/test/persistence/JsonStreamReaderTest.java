@@ -0,0 +1,225 @@
+package persistence;
+
+import model.Inventory;
+import model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Test suite for JsonStreamReader
+public class JsonStreamReaderTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final String SAVE = "./data/testStreamReaderSave.json";
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(Paths.get(SAVE));
+    }
+
+    // EFFECTS: helper method that tests if two inventories have the same threshold and products
+    private void verifySameInventory(Inventory expected, Inventory actual) {
+        assertEquals(expected.getThreshold(), actual.getThreshold());
+        List<Product> expectedProducts = expected.getProducts();
+        List<Product> actualProducts = actual.getProducts();
+        assertEquals(expectedProducts.size(), actualProducts.size());
+        for (int i = 0; i < expectedProducts.size(); i++) {
+            Product e = expectedProducts.get(i);
+            Product a = actualProducts.get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getQuantityMaximum(), a.getQuantityMaximum());
+            assertEquals(e.getQuantityAvailable(), a.getQuantityAvailable());
+            assertEquals(e.getQuantitySold(), a.getQuantitySold());
+            assertEquals(e.getCost(), a.getCost());
+        }
+    }
+
+    // EFFECTS: helper method that reads the save with both JsonReader and JsonStreamReader and compares them
+    private void verifySameAsJsonReader(String saveLocation) {
+        try {
+            Inventory expected = new JsonReader(saveLocation).read();
+            Inventory actual = new JsonStreamReader(saveLocation).read();
+            verifySameInventory(expected, actual);
+            verifySameInventory(expected, new JsonStreamReader(saveLocation, POOL).read());
+            verifySameInventory(expected, new JsonStreamReader(saveLocation, POOL, 1).read());
+        } catch (IOException e) {
+            fail("IOException was thrown unexpectedly");
+        }
+    }
+
+    @Test
+    void testReaderNoFileFound() {
+        JsonStreamReader reader = new JsonStreamReader("./data/InvisibleFile.json");
+        try {
+            reader.read();
+            fail("IOException was not thrown, but it should have been");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testReaderEmptyInventory() {
+        verifySameAsJsonReader("./data/testReaderEmptyInventory.json");
+    }
+
+    @Test
+    void testReaderOneProductInInventory() {
+        verifySameAsJsonReader("./data/testReaderOneProductInInventory.json");
+    }
+
+    @Test
+    void testReaderManyProductsInInventory() {
+        verifySameAsJsonReader("./data/testReaderManyProductsInInventory.json");
+    }
+
+    @Test
+    void testReaderManyProductsInInventoryAndSold() {
+        String saveLocation = "./data/testReaderManyProductsInInventoryAndSold.json";
+        verifySameAsJsonReader(saveLocation);
+        try {
+            Inventory i = new JsonStreamReader(saveLocation).read();
+            List<Product> products = i.getProducts();
+            assertEquals(3, products.size());
+            assertEquals("Banana", products.get(1).getName());
+            assertEquals(30, products.get(1).getQuantitySold());
+            assertEquals(1.5, products.get(1).getCost());
+        } catch (IOException e) {
+            fail("IOException was thrown unexpectedly");
+        }
+    }
+
+    @Test
+    void testReaderEscapedNames() {
+        String saveLocation = "./data/testReaderEscapedNames.json";
+        verifySameAsJsonReader(saveLocation);
+        try {
+            Inventory i = new JsonStreamReader(saveLocation).read();
+            List<Product> products = i.getProducts();
+            assertEquals(40, i.getThreshold());
+            assertEquals("Quote \" and \\ backslash", products.get(0).getName());
+            assertEquals("Tab\tNewline\n</slash> \u00e9", products.get(1).getName()); // e with accent
+            assertEquals(15, products.get(1).getQuantityAvailable());
+            assertEquals("Caf\u00e9 \u2013 \ud83c\udf4e", products.get(2).getName()); // accent, dash and emoji
+            assertEquals(0.001, products.get(2).getCost());
+        } catch (IOException e) {
+            fail("IOException was thrown unexpectedly");
+        }
+    }
+
+    @Test
+    void testReaderMalformedFile() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderMalformedInventory.json");
+        try {
+            reader.read();
+            fail("IOException was not thrown, but it should have been");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testParallelLargeInventory() throws IOException {
+        Inventory i = new Inventory();
+        i.setThreshold(35);
+        for (int p = 0; p < 5000; p++) {
+            Product product = new Product("Product " + p + (p % 7 == 0 ? " {\"[,]\"} \\" : ""), 100, p / 8.0);
+            i.addProduct(product);
+            product.sell(p % 100);
+        }
+        new JsonWriter(SAVE).fullSave(i);
+        verifySameInventory(i, new JsonStreamReader(SAVE, POOL).read());
+        for (long chunkSize : new long[] {1, 100, 4096, 1 << 20}) {
+            verifySameInventory(i, new JsonStreamReader(SAVE, POOL, chunkSize).read());
+        }
+    }
+
+    @Test
+    void testParallelDuplicateNames() throws IOException {
+        Files.writeString(Paths.get(SAVE), "{\"products\": ["
+                + "{\"name\": \"Apple\", \"quantityMaximum\": 5, \"quantitySold\": 0, \"cost\": 1},"
+                + "{\"name\": \"Pear\", \"quantityMaximum\": 5, \"quantitySold\": 0, \"cost\": 1},"
+                + "{\"name\": \"Apple\", \"quantityMaximum\": 5, \"quantitySold\": 0, \"cost\": 1}]}");
+        for (JsonStreamReader reader : List.of(new JsonStreamReader(SAVE), new JsonStreamReader(SAVE, POOL, 1))) {
+            try {
+                reader.read();
+                fail("IOException was not thrown, but it should have been");
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    void testParallelMalformedFile() {
+        JsonStreamReader reader = new JsonStreamReader("./data/testReaderMalformedInventory.json", POOL, 1);
+        try {
+            reader.read();
+            fail("IOException was not thrown, but it should have been");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testMalformedProductsRejectedOnEveryThreadCount() throws IOException {
+        String apple = "{\"name\": \"Apple\", \"quantityMaximum\": 5, \"quantitySold\": 0, \"cost\": 1}";
+        String pear = "{\"name\": \"Pear\", \"quantityMaximum\": 5, \"quantitySold\": 0, \"cost\": 1}";
+        List<String> saves = List.of(
+                "{\"products\": [" + apple + pear + "]}", // missing comma
+                "{\"products\": [" + apple + ", " + pear + ",]}", // trailing comma
+                "{\"products\": [" + apple + ",\n" + pear + ",\n]}",
+                "{\"products\": [, " + apple + "]}",
+                "{\"products\": [" + apple + ", 5, " + pear + "]}",
+                "{\"products\": [" + apple + ", " + pear,
+                "{\"products\": [" + apple + ", " + pear + "], \"threshold\": 20");
+        for (String save : saves) {
+            Files.writeString(Paths.get(SAVE), save);
+            for (JsonStreamReader reader : List.of(new JsonStreamReader(SAVE), new JsonStreamReader(SAVE, POOL),
+                    new JsonStreamReader(SAVE, POOL, 1), new JsonStreamReader(SAVE, POOL, 16))) {
+                try {
+                    reader.read();
+                    fail("IOException was not thrown for " + save);
+                } catch (IOException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParallelNamesThatLookLikeProductStarts() throws IOException {
+        Inventory i = new Inventory();
+        for (int p = 0; p < 300; p++) {
+            String name = p % 3 == 0 ? "Product " + p : "Fake ,{\"name\": \"Product " + p + "\", \"cost\": 1}, {";
+            i.addProduct(new Product(name, 100, 1.5));
+        }
+        new JsonWriter(SAVE).fullSave(i);
+        for (long chunkSize : new long[] {1, 7, 64, 1000}) {
+            verifySameInventory(i, new JsonStreamReader(SAVE, POOL, chunkSize).read());
+        }
+    }
+
+    @Test
+    void testParallelThresholdAfterProducts() throws IOException {
+        StringBuilder save = new StringBuilder("{\"products\": [");
+        for (int p = 0; p < 100; p++) {
+            save.append(p == 0 ? "" : ", ").append("{\"name\": \"Product ").append(p)
+                    .append("\", \"quantityMaximum\": 5, \"quantitySold\": 1, \"cost\": 2}");
+        }
+        Files.writeString(Paths.get(SAVE), save.append("], \"threshold\": 40}"));
+        Inventory expected = new JsonStreamReader(SAVE).read();
+        assertEquals(40, expected.getThreshold());
+        assertEquals(100, expected.getProducts().size());
+        for (long chunkSize : new long[] {1, 50, 1 << 20}) {
+            verifySameInventory(expected, new JsonStreamReader(SAVE, POOL, chunkSize).read());
+        }
+    }
+}
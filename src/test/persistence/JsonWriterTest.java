@@ -5,6 +5,9 @@ import model.Product;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -23,6 +26,27 @@ public class JsonWriterTest {
         assertEquals(actual.getCost(), expected.getCost());
     }
 
+    // EFFECTS: helper method that makes an inventory with the given number of products, some of them sold
+    private Inventory makeInventory(int numProducts) {
+        Inventory i = new Inventory();
+        i.setThreshold(20);
+        for (int p = 0; p < numProducts; p++) {
+            Product product = new Product("Product \"" + p + "\"", 10 + p, 0.25 * p + 0.1);
+            product.sell(p % 10);
+            i.addProduct(product);
+        }
+        return i;
+    }
+
+    // EFFECTS: helper method that saves the inventory in given format and returns the contents of the save file
+    private String saveAndReadBack(Inventory i, JsonWriter.Format format) throws IOException {
+        String saveLocation = "./data/testWriterFormat.json";
+        new JsonWriter(saveLocation, format).fullSave(i);
+        String contents = new String(Files.readAllBytes(Paths.get(saveLocation)), StandardCharsets.UTF_8);
+        Files.delete(Paths.get(saveLocation));
+        return contents;
+    }
+
     @Test
     void testWriterInvalidFile() {
         try {
@@ -133,4 +157,46 @@ public class JsonWriterTest {
             fail("IOException was unexpectedly thrown");
         }
     }
+
+    @Test
+    void testWriterIndentedFormatMatchesJsonObject() {
+        try {
+            for (int numProducts : new int[]{0, 1, 2, 25}) {
+                Inventory i = makeInventory(numProducts);
+                assertEquals(i.toJson().toString(4), saveAndReadBack(i, JsonWriter.Format.INDENTED));
+            }
+        } catch (IOException e) {
+            fail("IOException was unexpectedly thrown");
+        }
+    }
+
+    @Test
+    void testWriterCompactFormatMatchesJsonObject() {
+        try {
+            for (int numProducts : new int[]{0, 1, 2, 25}) {
+                Inventory i = makeInventory(numProducts);
+                assertEquals(i.toJson().toString(), saveAndReadBack(i, JsonWriter.Format.COMPACT));
+            }
+        } catch (IOException e) {
+            fail("IOException was unexpectedly thrown");
+        }
+    }
+
+    @Test
+    void testWriterCompactFormatCanBeRead() {
+        try {
+            String saveLocation = "./data/testWriterCompactFormat.json";
+            Inventory saved = makeInventory(3);
+            new JsonWriter(saveLocation, JsonWriter.Format.COMPACT).fullSave(saved);
+
+            Inventory i = new JsonReader(saveLocation).read();
+            assertEquals(3, i.getProducts().size());
+            for (int p = 0; p < 3; p++) {
+                verifyAllDetailsOfAProduct(saved.getProducts().get(p), i.getProducts().get(p));
+            }
+            assertEquals(20, i.getThreshold());
+        } catch (IOException e) {
+            fail("IOException was unexpectedly thrown");
+        }
+    }
 }
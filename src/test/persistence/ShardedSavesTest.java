@@ -0,0 +1,73 @@
+package persistence;
+
+import model.Inventory;
+import model.Product;
+import model.ShardedInventory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for ShardedSaves
+public class ShardedSavesTest {
+    private static final String DIRECTORY = "./data/testShardedSaves";
+    private static final List<String> STORES = List.of("Downtown", "Airport", "Harbour");
+
+    private ShardedSaves saves;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        deleteFiles();
+        saves = new ShardedSaves(DIRECTORY);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        deleteFiles();
+    }
+
+    // EFFECTS: deletes the saves of the test stores and their directory
+    private void deleteFiles() throws IOException {
+        for (String store : STORES) {
+            Files.deleteIfExists(Paths.get(new ShardedSaves(DIRECTORY).saveLocationOf(store)));
+        }
+        Files.deleteIfExists(Paths.get(DIRECTORY));
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        ShardedInventory stores = new ShardedInventory(STORES.subList(0, 2));
+        stores.addProduct("Downtown", new Product("Apples", 50, 2.00));
+        stores.addProduct("Airport", new Product("Pens", 20, 0.25));
+        stores.sell("Airport", "Pens", 15);
+        stores.submit("Airport", i -> {
+            i.setThreshold(30);
+            return null;
+        });
+        saves.save(stores);
+        stores.close();
+        assertTrue(Files.exists(Paths.get(saves.saveLocationOf("Downtown"))));
+        assertTrue(Files.exists(Paths.get(saves.saveLocationOf("Airport"))));
+
+        ShardedInventory loaded = saves.load(STORES);
+        assertEquals(STORES, loaded.getShardNames());
+        assertEquals(50, loaded.submit("Downtown", i -> i.findProduct("Apples").getQuantityAvailable()).join());
+        assertEquals(30, loaded.submit("Airport", Inventory::getThreshold).join());
+        assertEquals(5, loaded.submit("Airport", i -> i.findProduct("Pens").getQuantityAvailable()).join());
+        assertTrue(loaded.submit("Harbour", Inventory::getProducts).join().isEmpty());
+        loaded.close();
+    }
+
+    @Test
+    void testLoadUnreadableSave() throws IOException {
+        Files.createDirectories(Paths.get(DIRECTORY));
+        Files.writeString(Paths.get(saves.saveLocationOf("Airport")), "not a save");
+        assertThrows(IOException.class, () -> saves.load(STORES));
+    }
+}
@@ -0,0 +1,181 @@
+package persistence;
+
+import model.Inventory;
+import model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for Snapshotter
+public class SnapshotterTest {
+    private static final String JOURNAL = "./data/testSnapshotterJournal.bin";
+    private static final String SAVE = "./data/testSnapshotterSave.json";
+
+    private Inventory inventory;
+    private Journal journal;
+    private Snapshotter snapshotter;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        deleteFiles();
+        inventory = new Inventory();
+        journal = new Journal(JOURNAL, 0);
+        inventory.addObserver(journal);
+        snapshotter = new Snapshotter(inventory, SAVE, journal);
+        for (int p = 0; p < 100; p++) {
+            inventory.addProduct(new Product("Product " + p, 1000, 1.5));
+        }
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        snapshotter.close();
+        journal.close();
+        deleteFiles();
+    }
+
+    // EFFECTS: helper method that deletes the files written by these tests
+    private void deleteFiles() throws IOException {
+        Files.deleteIfExists(Paths.get(JOURNAL));
+        Files.deleteIfExists(Paths.get(SAVE));
+    }
+
+    // EFFECTS: helper method that tests if two inventories have the same threshold and products
+    private void verifySameInventory(Inventory expected, Inventory actual) {
+        assertEquals(expected.getThreshold(), actual.getThreshold());
+        List<Product> expectedProducts = expected.getProducts();
+        List<Product> actualProducts = actual.getProducts();
+        assertEquals(expectedProducts.size(), actualProducts.size());
+        for (int i = 0; i < expectedProducts.size(); i++) {
+            Product e = expectedProducts.get(i);
+            Product a = actualProducts.get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getQuantityAvailable(), a.getQuantityAvailable());
+            assertEquals(e.getQuantitySold(), a.getQuantitySold());
+        }
+    }
+
+    @Test
+    void testSnapshotSavesAndTruncatesJournal() throws Exception {
+        inventory.findProduct("Product 3").sell(30);
+        journal.sync();
+        long journalSize = Files.size(Paths.get(JOURNAL));
+        snapshotter.snapshot().get();
+
+        verifySameInventory(inventory, new JsonStreamReader(SAVE).read());
+        assertTrue(Files.size(Paths.get(JOURNAL)) < journalSize);
+        assertEquals(0, Journal.replay(JOURNAL, new Inventory()));
+        assertFalse(Files.exists(Paths.get(SAVE + ".tmp")));
+        verifySameInventory(inventory, Journal.recover(SAVE, JOURNAL));
+    }
+
+    @Test
+    void testBinarySnapshots() throws Exception {
+        Snapshotter binary = new Snapshotter(inventory, SAVE, journal, true);
+        try {
+            inventory.findProduct("Product 5").sell(50);
+            binary.snapshot().get();
+            assertTrue(new InventoryReader(SAVE).isBinarySave());
+            inventory.findProduct("Product 6").sell(60);
+            journal.sync();
+            verifySameInventory(inventory, Journal.recover(SAVE, JOURNAL));
+        } finally {
+            binary.close();
+        }
+    }
+
+    @Test
+    void testChangesAfterSnapshotKeptInJournal() throws Exception {
+        snapshotter.snapshot().get();
+        inventory.findProduct("Product 7").sell(70);
+        inventory.removeProduct(inventory.findProduct("Product 8"));
+        journal.sync();
+        verifySameInventory(inventory, Journal.recover(SAVE, JOURNAL));
+    }
+
+    @Test
+    void testSalesDuringSnapshots() throws Exception {
+        Thread seller = new Thread(() -> {
+            for (int sale = 0; sale < 20000; sale++) {
+                inventory.findProduct("Product " + sale % 100).sell(sale % 2);
+            }
+        });
+        seller.start();
+        while (seller.isAlive()) {
+            snapshotter.snapshot().get();
+        }
+        seller.join();
+        journal.sync();
+        verifySameInventory(inventory, Journal.recover(SAVE, JOURNAL));
+    }
+
+    @Test
+    void testSnapshotsWhileSellingSaveConsistentQuantities() throws Exception {
+        Snapshotter binary = new Snapshotter(inventory, SAVE + ".bin", null, true);
+        AtomicBoolean selling = new AtomicBoolean(true);
+        Thread seller = new Thread(() -> {
+            for (int sale = 0; selling.get(); sale++) {
+                Product p = inventory.findProduct("Product " + sale % 100);
+                if (!p.sell(1)) {
+                    p.restock(true);
+                }
+            }
+        });
+        seller.start();
+        try {
+            for (int round = 0; round < 20; round++) {
+                snapshotter.snapshot().get();
+                binary.snapshot().get();
+                verifyQuantitiesAddUp(new InventoryReader(SAVE).read());
+                verifyQuantitiesAddUp(new InventoryReader(SAVE + ".bin").read());
+            }
+        } finally {
+            selling.set(false);
+            seller.join();
+            binary.close();
+            Files.deleteIfExists(Paths.get(SAVE + ".bin"));
+        }
+    }
+
+    // EFFECTS: helper method that tests that every product's available and sold quantities make up its maximum,
+    //          which holds for every pair a product really had while only selling and restocking
+    private void verifyQuantitiesAddUp(Inventory saved) {
+        for (Product p : saved.getProducts()) {
+            assertEquals(p.getQuantityMaximum(), p.getQuantityAvailable() + p.getQuantitySold(), p.getName());
+        }
+    }
+
+    @Test
+    void testPeriodicSnapshots() throws Exception {
+        snapshotter.startPeriodic(10, TimeUnit.MILLISECONDS);
+        for (int wait = 0; wait < 500 && !Files.exists(Paths.get(SAVE)); wait++) {
+            Thread.sleep(10);
+        }
+        assertTrue(Files.exists(Paths.get(SAVE)));
+    }
+
+    @Test
+    void testSnapshotFails() {
+        Snapshotter bad = new Snapshotter(inventory, "./data/my\0illegal:fileName.json", null);
+        try {
+            bad.snapshot().get();
+            fail("ExecutionException should have been thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException || e.getCause() instanceof RuntimeException);
+        } catch (InterruptedException e) {
+            fail("Interrupted");
+        } finally {
+            bad.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ui;
+
+import model.ConcurrentInventory;
+import model.Inventory;
+import model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test suite for SaleServer
+public class SaleServerTest {
+    private Inventory inventory;
+    private Product apples;
+    private SaleServer server;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        inventory = new Inventory();
+        apples = new Product("Green Apples", 10, 2.0);
+        inventory.addProduct(apples);
+        server = new SaleServer(inventory, 0);
+    }
+
+    @AfterEach
+    void runAfter() {
+        server.close();
+    }
+
+    @Test
+    void testSell() {
+        assertEquals("OK", server.execute("sell 3 Green Apples"));
+        assertEquals(7, apples.getQuantityAvailable());
+        assertEquals(3, apples.getQuantitySold());
+        assertEquals("NO", server.execute("sell 8 Green Apples"));
+        assertEquals(7, apples.getQuantityAvailable());
+        assertEquals("OK", server.execute("sell 7 Green Apples"));
+        assertEquals(0, apples.getQuantityAvailable());
+    }
+
+    @Test
+    void testRestock() {
+        server.execute("sell 3 Green Apples");
+        assertEquals("OK 6.0", server.execute("restock Green Apples"));
+        assertEquals(10, apples.getQuantityAvailable());
+        assertEquals(0, apples.getQuantitySold());
+        assertEquals("OK 0.0", server.execute("restock Green Apples"));
+    }
+
+    @Test
+    void testAdd() {
+        assertEquals("OK", server.execute("add 20 1.5 Paper Towels"));
+        Product added = inventory.findProduct("Paper Towels");
+        assertEquals(20, added.getQuantityMaximum());
+        assertEquals(20, added.getQuantityAvailable());
+        assertEquals(1.5, added.getCost());
+        assertEquals("OK", server.execute("sell 5 Paper Towels"));
+        assertEquals(15, added.getQuantityAvailable());
+    }
+
+    @Test
+    void testAddToConcurrentInventory() throws IOException {
+        ConcurrentInventory concurrent = new ConcurrentInventory();
+        try (SaleServer s = new SaleServer(concurrent, 0)) {
+            assertEquals("OK", s.execute("add 5 1.0 Pens"));
+            assertEquals("OK", s.execute("sell 2 Pens"));
+            assertEquals(3, concurrent.findProduct("Pens").getQuantityAvailable());
+            assertEquals("OK 2.0", s.execute("restock Pens"));
+            concurrent.removeProduct(concurrent.findProduct("Pens"));
+            assertEquals("ERR No product named Pens", s.execute("sell 1 Pens"));
+        }
+    }
+
+    @Test
+    void testErrors() {
+        assertEquals("ERR unknown command: buy", server.execute("buy 3 Green Apples"));
+        assertEquals("ERR unknown command: ", server.execute(""));
+        assertEquals("ERR No product named Pears", server.execute("sell 1 Pears"));
+        assertEquals("ERR No product named Pears", server.execute("restock Pears"));
+        assertEquals("ERR cannot sell -1 units", server.execute("sell -1 Green Apples"));
+        assertEquals("ERR maximum and cost must be positive", server.execute("add 0 1.0 Pears"));
+        assertEquals("ERR maximum and cost must be positive", server.execute("add 5 -1.0 Pears"));
+        assertEquals("ERR Product Green Apples is already in the inventory",
+                server.execute("add 5 1.0 Green Apples"));
+        assertNull(inventory.findProduct("Pears"));
+        assertEquals(10, apples.getQuantityAvailable());
+    }
+
+    @Test
+    void testBadlyFormedCommands() {
+        assertEquals("ERR badly formed command: sell", server.execute("sell"));
+        assertEquals("ERR badly formed command: sell 3", server.execute("sell 3"));
+        assertEquals("ERR badly formed command: sell x Apples", server.execute("sell x Apples"));
+        assertEquals("ERR badly formed command: add 5 1.0", server.execute("add 5 1.0"));
+        assertEquals("ERR badly formed command: add five 1.0 Pears", server.execute("add five 1.0 Pears"));
+        assertNull(inventory.findProduct("Pears"));
+        assertEquals(10, apples.getQuantityAvailable());
+    }
+
+    @Test
+    void testSocketRoundTrip() throws IOException {
+        server.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), UTF_8);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+            out.write("sell 4 Green Apples\nsell 7 Green Apples\nrestock Green Apples\nsell x Apples\n");
+            out.flush();
+            assertEquals("OK", in.readLine());
+            assertEquals("NO", in.readLine());
+            assertEquals("OK 8.0", in.readLine());
+            assertEquals("ERR badly formed command: sell x Apples", in.readLine());
+        }
+        assertEquals(10, apples.getQuantityAvailable());
+        assertEquals(0, apples.getQuantitySold());
+    }
+}